@@ -9,6 +9,8 @@ JMH Multi-threaded Benchmark Visualizer
 
 Сравнивает производительность (Throughput) различных реализаций IUniqueList
 в зависимости от количества потоков (2, 4, 8, 16).
+Если результаты сняты матрицей конфигураций JVM (поле jvmConfig, см. JvmConfigMatrix),
+графики и таблицы строятся отдельно для каждой конфигурации.
 """
 
 import json
@@ -32,7 +34,10 @@ IMPLEMENTATION_NAMES = [
     "VALID_VOLATILE",
     "REENTRANT_LOCK",
     "SUPER_VALID_VOLATILE",
-    "VALID_REENTRANT_LOCK"
+    "VALID_REENTRANT_LOCK",
+    "PADDED_ATOMIC_BOOLEAN",
+    "PADDED_VALID_VOLATILE",
+    "PADDED_SUPER_VALID_VOLATILE"
 ]
 
 # Человеко-понятные имена для легенды (можно настроить)
@@ -43,9 +48,15 @@ DISPLAY_NAMES = {
     "VALID_VOLATILE": "Valid Volatile Lock",
     "REENTRANT_LOCK": "ReentrantLock",
     "SUPER_VALID_VOLATILE": "Super Valid Volatile Lock",
-    "VALID_REENTRANT_LOCK": "Valid ReentrantLock"
+    "VALID_REENTRANT_LOCK": "Valid ReentrantLock",
+    "PADDED_ATOMIC_BOOLEAN": "AtomicBoolean Lock (padded)",
+    "PADDED_VALID_VOLATILE": "Valid Volatile Lock (padded)",
+    "PADDED_SUPER_VALID_VOLATILE": "Super Valid Volatile Lock (padded)"
 }
 
+# Имя конфигурации для результатов без поля jvmConfig
+DEFAULT_JVM_CONFIG = "default"
+
 # Параметры тестирования (из benchmark)
 THREAD_CONFIGS = [2, 4, 8, 16, 32, 64, 128]
 OPERATIONS_PER_THREAD = 100  # Из параметров benchmark
@@ -80,6 +91,14 @@ def get_display_name(impl_name):
     """Возвращает отображаемое имя для реализации"""
     return DISPLAY_NAMES.get(impl_name, impl_name)
 
+def get_impl_index(impl_name):
+    """Индекс реализации в IMPLEMENTATION_NAMES: цвет и маркер одинаковы во всех конфигурациях"""
+    return IMPLEMENTATION_NAMES.index(impl_name) if impl_name in IMPLEMENTATION_NAMES else len(IMPLEMENTATION_NAMES)
+
+def get_jvm_configs(df):
+    """Список конфигураций JVM в порядке появления в результатах"""
+    return list(df['jvm_config'].unique())
+
 # --- Функции для парсинга и подготовки данных ---
 def load_and_prepare_data(json_file_path):
     """
@@ -103,6 +122,7 @@ def load_and_prepare_data(json_file_path):
         threads = benchmark_result.get('threads', 0)
         
         impl_name = params.get('implementationName')
+        jvm_config = benchmark_result.get('jvmConfig', {}).get('name', DEFAULT_JVM_CONFIG)
         ops_per_thread = int(params.get('operationsPerThread', 10))
         
         primary_metric = benchmark_result.get('primaryMetric', {})
@@ -114,6 +134,7 @@ def load_and_prepare_data(json_file_path):
         score_error_ops_per_sec = score_error * 1e6 if not np.isnan(score_error) else np.nan
         
         records.append({
+            'jvm_config': jvm_config,
             'implementation': impl_name,
             'display_name': get_display_name(impl_name),
             'threads': threads,
@@ -136,9 +157,10 @@ def load_and_prepare_data(json_file_path):
     df = df[df['implementation'].isin(IMPLEMENTATION_NAMES)]
     
     # Сортируем для консистентности
-    df = df.sort_values(by=['implementation', 'threads']).reset_index(drop=True)
+    df = df.sort_values(by=['jvm_config', 'implementation', 'threads'], kind='stable').reset_index(drop=True)
     
-    print(f"Загружено {len(df)} записей для {df['implementation'].nunique()} реализаций.")
+    print(f"Загружено {len(df)} записей для {df['implementation'].nunique()} реализаций "
+          f"в {df['jvm_config'].nunique()} конфигурациях JVM.")
     return df
 
 def calculate_throughput_per_operation(df):
@@ -157,43 +179,61 @@ def calculate_throughput_per_operation(df):
 def plot_throughput_comparison(df, output_dir, show_plots=False):
     """
     Создает основной график: Throughput (ops/sec) vs. Threads для всех реализаций.
+    При нескольких конфигурациях JVM - по одной панели на конфигурацию.
     """
     print("Построение графика Throughput vs. Threads...")
     
-    unique_impls = df['implementation'].unique()
-    
-    fig, ax = plt.subplots(figsize=(12, 8))
+    configs = get_jvm_configs(df)
+    ncols = min(2, len(configs))
+    nrows = int(np.ceil(len(configs) / ncols))
+    width = 12 if ncols == 1 else 9 * ncols
+    height = 8 if nrows == 1 else 6.5 * nrows
+    fig, axes = plt.subplots(nrows, ncols, figsize=(width, height), squeeze=False)
     
-    for idx, impl in enumerate(unique_impls):
-        impl_data = df[df['implementation'] == impl].sort_values('threads')
-        display_name = get_display_name(impl)
-        color = get_color_for_impl(idx)
-        marker = get_marker_for_impl(idx)
-        
-        x = impl_data['threads'].values
-        y = impl_data['throughput_ops_per_sec'].values
-        yerr = impl_data['throughput_error_ops_per_sec'].values
+    for config_idx, config in enumerate(configs):
+        ax = axes[config_idx // ncols][config_idx % ncols]
+        config_data = df[df['jvm_config'] == config]
+        
+        for impl in config_data['implementation'].unique():
+            impl_data = config_data[config_data['implementation'] == impl].sort_values('threads')
+            display_name = get_display_name(impl)
+            idx = get_impl_index(impl)
+            color = get_color_for_impl(idx)
+            marker = get_marker_for_impl(idx)
+            
+            x = impl_data['threads'].values
+            y = impl_data['throughput_ops_per_sec'].values
+            yerr = impl_data['throughput_error_ops_per_sec'].values
+            
+            # Основная линия и точки
+            ax.plot(x, y, color=color, marker=marker, markersize=8, 
+                    linewidth=2, label=display_name, zorder=3)
+            
+            # Полосы ошибок (стандартное отклонение/доверительный интервал)
+            ax.fill_between(x, y - yerr, y + yerr, color=color, alpha=0.15, zorder=2)
+        
+        # Настройка осей и заголовка
+        ax.set_xlabel('Number of Threads', fontsize=14)
+        ax.set_ylabel('Throughput (operations / second)', fontsize=14)
+        if len(configs) == 1:
+            ax.set_title('JMH Multi-threaded Benchmark: Throughput vs. Threads\n(Higher is Better)', fontsize=16, fontweight='bold')
+        else:
+            ax.set_title(f'JVM: {config}', fontsize=14, fontweight='bold')
         
-        # Основная линия и точки
-        ax.plot(x, y, color=color, marker=marker, markersize=8, 
-                linewidth=2, label=display_name, zorder=3)
+        ax.set_xscale('log', base=2)  # Логарифмическая шкала для потоков (2,4,8,16)
+        ax.set_xticks(THREAD_CONFIGS)
+        ax.set_xticklabels([str(t) for t in THREAD_CONFIGS])
         
-        # Полосы ошибок (стандартное отклонение/доверительный интервал)
-        ax.fill_between(x, y - yerr, y + yerr, color=color, alpha=0.15, zorder=2)
-        # Или использовать errorbar:
-        # ax.errorbar(x, y, yerr=yerr, color=color, marker=marker, capsize=3, linestyle='-', linewidth=2)
-    
-    # Настройка осей и заголовка
-    ax.set_xlabel('Number of Threads', fontsize=14)
-    ax.set_ylabel('Throughput (operations / second)', fontsize=14)
-    ax.set_title('JMH Multi-threaded Benchmark: Throughput vs. Threads\n(Higher is Better)', fontsize=16, fontweight='bold')
+        ax.grid(True, which='both', linestyle='--', alpha=0.6, zorder=1)
+        ax.legend(fontsize=12 if len(configs) == 1 else 9, loc='best')
     
-    ax.set_xscale('log', base=2)  # Логарифмическая шкала для потоков (2,4,8,16)
-    ax.set_xticks(THREAD_CONFIGS)
-    ax.set_xticklabels([str(t) for t in THREAD_CONFIGS])
+    # Пустые панели в последней строке
+    for config_idx in range(len(configs), nrows * ncols):
+        axes[config_idx // ncols][config_idx % ncols].axis('off')
     
-    ax.grid(True, which='both', linestyle='--', alpha=0.6, zorder=1)
-    ax.legend(fontsize=12, loc='best')
+    if len(configs) > 1:
+        fig.suptitle('JMH Multi-threaded Benchmark: Throughput vs. Threads by JVM configuration\n(Higher is Better)',
+                     fontsize=16, fontweight='bold')
     
     plt.tight_layout()
     
@@ -223,12 +263,21 @@ def plot_individual_impl(df, output_dir, show_plots=False):
         
         fig, ax = plt.subplots(figsize=(10, 6))
         
-        x = impl_data['threads'].values
-        y = impl_data['throughput_ops_per_sec'].values
-        yerr = impl_data['throughput_error_ops_per_sec'].values
-        
-        ax.plot(x, y, 'o-', color='#1f77b4', markersize=8, linewidth=2, label=display_name)
-        ax.fill_between(x, y - yerr, y + yerr, color='#1f77b4', alpha=0.2)
+        # Одна линия на конфигурацию JVM
+        configs = impl_data['jvm_config'].unique()
+        for config_idx, config in enumerate(configs):
+            config_data = impl_data[impl_data['jvm_config'] == config]
+            color = get_color_for_impl(config_idx)
+            label = display_name if len(configs) == 1 else config
+            
+            x = config_data['threads'].values
+            y = config_data['throughput_ops_per_sec'].values
+            yerr = config_data['throughput_error_ops_per_sec'].values
+            
+            ax.plot(x, y, 'o-', color=color, markersize=8, linewidth=2, label=label)
+            ax.fill_between(x, y - yerr, y + yerr, color=color, alpha=0.2)
+        if len(configs) > 1:
+            ax.legend(fontsize=10, loc='best')
         
         ax.set_xlabel('Number of Threads', fontsize=12)
         ax.set_ylabel('Throughput (operations / second)', fontsize=12)
@@ -275,7 +324,8 @@ def create_pdf_report(df, all_figures, output_dir, input_filename):
             f"Date: {datetime.now().strftime('%Y-%m-%d %H:%M:%S')}\n\n"
             f"Benchmark: MultiThreadUniqueListBenchmark\n"
             f"Operations per Thread: {OPERATIONS_PER_THREAD}\n"
-            f"Thread Configs: {THREAD_CONFIGS}\n\n"
+            f"Thread Configs: {THREAD_CONFIGS}\n"
+            f"JVM Configs: {', '.join(get_jvm_configs(df))}\n\n"
             f"Implementations Compared:\n"
         )
         for impl in IMPLEMENTATION_NAMES:
@@ -293,72 +343,81 @@ def create_pdf_report(df, all_figures, output_dir, input_filename):
             pdf.savefig(fig, bbox_inches='tight')
             plt.close(fig)  # Закрываем, чтобы освободить память
         
-        # Страница со сводной таблицей результатов
-        fig, ax = plt.subplots(figsize=(8.5, 11))
-        ax.axis('off')
-        
-        # Создаем сводную таблицу
-        pivot_df = df.pivot_table(
-            index='implementation', 
-            columns='threads', 
-            values='throughput_ops_per_sec',
-            aggfunc='first'
-        ).reindex(IMPLEMENTATION_NAMES)
-        
-        # Форматируем значения (в миллионы операций в секунду для читаемости)
-        formatted_data = []
-        for impl in pivot_df.index:
-            row = [get_display_name(impl)]
-            for t in THREAD_CONFIGS:
-                val = pivot_df.loc[impl, t] if t in pivot_df.columns else np.nan
-                if not np.isnan(val):
-                    row.append(f"{val/1e6:.2f} M ops/sec")
-                else:
-                    row.append("N/A")
-            formatted_data.append(row)
-        
-        # Создаем таблицу matplotlib
-        columns = ['Implementation'] + [f'{t} Threads' for t in THREAD_CONFIGS]
-        table = ax.table(cellText=formatted_data, colLabels=columns,
-                         loc='center', cellLoc='center', colWidths=[0.25]*len(columns))
-        
-        table.auto_set_font_size(False)
-        table.set_fontsize(10)
-        table.scale(1, 2)
-        
-        # Раскраска заголовка
-        for (i, j), cell in table.get_celld().items():
-            if i == 0:  # Заголовок
-                cell.set_facecolor('#40466e')
-                cell.set_text_props(weight='bold', color='white')
-            elif j == 0:  # Первая колонка (названия реализаций)
-                cell.set_facecolor('#e0e0e0')
-                cell.set_text_props(weight='bold')
-        
-        ax.set_title('Summary Table: Throughput (M operations/sec)', fontsize=16, weight='bold', y=0.95)
-        pdf.savefig(fig, bbox_inches='tight')
-        plt.close(fig)
-        
-        # Страница с лучшими результатами
-        fig, ax = plt.subplots(figsize=(8.5, 11))
-        ax.axis('off')
-        
-        best_results_text = "BEST PERFORMANCE SUMMARY\n"
-        best_results_text += "========================\n\n"
+        configs = get_jvm_configs(df)
+        for config in configs:
+            config_df = df[df['jvm_config'] == config]
+            
+            # Страница со сводной таблицей результатов
+            fig, ax = plt.subplots(figsize=(8.5, 11))
+            ax.axis('off')
+        
+            # Создаем сводную таблицу
+            pivot_df = config_df.pivot_table(
+                index='implementation', 
+                columns='threads', 
+                values='throughput_ops_per_sec',
+                aggfunc='first'
+            ).reindex(IMPLEMENTATION_NAMES)
+        
+            # Форматируем значения (в миллионы операций в секунду для читаемости)
+            formatted_data = []
+            for impl in pivot_df.index:
+                row = [get_display_name(impl)]
+                for t in THREAD_CONFIGS:
+                    val = pivot_df.loc[impl, t] if t in pivot_df.columns else np.nan
+                    if not np.isnan(val):
+                        row.append(f"{val/1e6:.2f} M ops/sec")
+                    else:
+                        row.append("N/A")
+                formatted_data.append(row)
+        
+            # Создаем таблицу matplotlib
+            columns = ['Implementation'] + [f'{t} Threads' for t in THREAD_CONFIGS]
+            table = ax.table(cellText=formatted_data, colLabels=columns,
+                             loc='center', cellLoc='center', colWidths=[0.25]*len(columns))
+        
+            table.auto_set_font_size(False)
+            table.set_fontsize(10)
+            table.scale(1, 2)
+        
+            # Раскраска заголовка
+            for (i, j), cell in table.get_celld().items():
+                if i == 0:  # Заголовок
+                    cell.set_facecolor('#40466e')
+                    cell.set_text_props(weight='bold', color='white')
+                elif j == 0:  # Первая колонка (названия реализаций)
+                    cell.set_facecolor('#e0e0e0')
+                    cell.set_text_props(weight='bold')
+        
+            title = 'Summary Table: Throughput (M operations/sec)'
+            if len(configs) > 1:
+                title += f'\nJVM: {config}'
+            ax.set_title(title, fontsize=16, weight='bold', y=0.95)
+            pdf.savefig(fig, bbox_inches='tight')
+            plt.close(fig)
+            
+            # Страница с лучшими результатами
+            fig, ax = plt.subplots(figsize=(8.5, 11))
+            ax.axis('off')
         
-        for t in THREAD_CONFIGS:
-            best_for_threads = df[df['threads'] == t].sort_values('throughput_ops_per_sec', ascending=False)
-            if not best_for_threads.empty:
-                best_impl = best_for_threads.iloc[0]
-                best_results_text += f"Threads = {t}:\n"
-                best_results_text += f"  • Winner: {get_display_name(best_impl['implementation'])}\n"
-                best_results_text += f"  • Throughput: {best_impl['throughput_ops_per_sec']/1e6:.2f} M ops/sec\n"
-                best_results_text += f"  • Error: ±{best_impl['throughput_error_ops_per_sec']/1e6:.2f} M ops/sec\n\n"
+            best_results_text = "BEST PERFORMANCE SUMMARY\n"
+            best_results_text += "========================\n\n"
+            if len(configs) > 1:
+                best_results_text += f"JVM: {config}\n\n"
         
-        ax.text(0.1, 0.9, best_results_text, transform=ax.transAxes, fontsize=12,
-                va='top', linespacing=1.5, family='monospace')
-        pdf.savefig(fig, bbox_inches='tight')
-        plt.close(fig)
+            for t in THREAD_CONFIGS:
+                best_for_threads = config_df[config_df['threads'] == t].sort_values('throughput_ops_per_sec', ascending=False)
+                if not best_for_threads.empty:
+                    best_impl = best_for_threads.iloc[0]
+                    best_results_text += f"Threads = {t}:\n"
+                    best_results_text += f"  • Winner: {get_display_name(best_impl['implementation'])}\n"
+                    best_results_text += f"  • Throughput: {best_impl['throughput_ops_per_sec']/1e6:.2f} M ops/sec\n"
+                    best_results_text += f"  • Error: ±{best_impl['throughput_error_ops_per_sec']/1e6:.2f} M ops/sec\n\n"
+        
+            ax.text(0.1, 0.9, best_results_text, transform=ax.transAxes, fontsize=12,
+                    va='top', linespacing=1.5, family='monospace')
+            pdf.savefig(fig, bbox_inches='tight')
+            plt.close(fig)
     
     print(f"PDF отчет успешно создан: {pdf_filename}")
     return pdf_filename
@@ -369,7 +428,7 @@ def save_summary_csv(df, output_dir, input_filename):
     """
     summary_path = os.path.join(output_dir, f'{input_filename}_summary.csv')
     
-    summary_df = df[['implementation', 'display_name', 'threads', 
+    summary_df = df[['jvm_config', 'implementation', 'display_name', 'threads', 
                      'throughput_ops_per_sec', 'throughput_error_ops_per_sec']].copy()
     summary_df['throughput_ops_per_sec_millions'] = summary_df['throughput_ops_per_sec'] / 1e6
     summary_df['throughput_error_ops_per_sec_millions'] = summary_df['throughput_error_ops_per_sec'] / 1e6
@@ -380,11 +439,11 @@ def save_summary_csv(df, output_dir, input_filename):
     # Сохраняем также в удобном для чтения формате (pivot table)
     pivot_path = os.path.join(output_dir, f'{input_filename}_pivot.csv')
     pivot_df = df.pivot_table(
-        index='implementation', 
+        index=['jvm_config', 'implementation'], 
         columns='threads', 
         values='throughput_ops_per_sec',
         aggfunc='first'
-    ).reindex(IMPLEMENTATION_NAMES)
+    )
     pivot_df.to_csv(pivot_path, float_format='%.2f')
     print(f"Pivot-таблица сохранена: {pivot_path}")
     
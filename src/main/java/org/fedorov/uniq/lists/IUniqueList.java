@@ -1,9 +1,124 @@
 package org.fedorov.uniq.lists;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface IUniqueList<T> {
     public boolean add(T e);
     public int size();
      public T get(int index);
-}
\ No newline at end of file
+
+    public default boolean contains(T e) {
+        return indexOf(e) >= 0;
+    }
+
+    // Линейный поиск по умолчанию; реализации с индексом переопределяют за O(1)
+    public default int indexOf(T e) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            T element = get(i);
+            if (e == null ? element == null : e.equals(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Пакетное добавление: added[i] = true, если elements.get(i) был добавлен.
+    // Возвращает количество добавленных элементов
+    public default int addAll(List<? extends T> elements, boolean[] added) {
+        int count = 0;
+        for (int i = 0; i < elements.size(); i++) {
+            added[i] = add(elements.get(i));
+            if (added[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Обход префикса длиной size() на момент вызова через get(i). Согласован, только если
+    // get(i) безопасен параллельно с add(); остальные реализации переопределяют spliterator()
+    // (по опубликованному массиву или по копии, снятой под блокировкой писателя)
+    public default Spliterator<T> spliterator() {
+        return new IndexedSpliterator<>(this, 0, size());
+    }
+
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Экспорт диапазона [from, from + length) во внешний буфер. Реализации по умолчанию
+    // идут через get(i); примитивные и off-heap реализации дают свои пакетные методы
+    // (LongKeyUniqueList.exportKeys, Utf8StringUniqueList.exportBytes)
+    public default void exportInts(int from, int[] dest, int destOffset, int length, ToIntFunction<? super T> mapper) {
+        Objects.checkFromIndexSize(from, length, size());
+        Objects.checkFromIndexSize(destOffset, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[destOffset + i] = mapper.applyAsInt(get(from + i));
+        }
+    }
+
+    public default void exportLongs(int from, long[] dest, int destOffset, int length, ToLongFunction<? super T> mapper) {
+        Objects.checkFromIndexSize(from, length, size());
+        Objects.checkFromIndexSize(destOffset, length, dest.length);
+        for (int i = 0; i < length; i++) {
+            dest[destOffset + i] = mapper.applyAsLong(get(from + i));
+        }
+    }
+
+    // encoder пишет один элемент с текущей позиции буфера
+    public default void exportTo(int from, int length, ByteBuffer dest, BiConsumer<? super T, ByteBuffer> encoder) {
+        Objects.checkFromIndexSize(from, length, size());
+        for (int i = 0; i < length; i++) {
+            encoder.accept(get(from + i), dest);
+        }
+    }
+
+    // Через промежуточный direct-буфер размером bufferSize; элемент должен в него помещаться.
+    // Возвращает количество записанных байт
+    public default long exportTo(int from, int length, FileChannel channel, BiConsumer<? super T, ByteBuffer> encoder, int bufferSize) throws IOException {
+        Objects.checkFromIndexSize(from, length, size());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+        long written = 0;
+        for (int i = 0; i < length; i++) {
+            T e = get(from + i);
+            int mark = buffer.position();
+            try {
+                encoder.accept(e, buffer);
+            } catch (BufferOverflowException overflow) {
+                if (mark == 0) {
+                    throw new IllegalArgumentException("Element " + (from + i) + " does not fit into " + bufferSize + " bytes", overflow);
+                }
+                buffer.position(mark);
+                written += flush(buffer, channel);
+                i--;
+            }
+        }
+        return written + flush(buffer, channel);
+    }
+
+    private static long flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+}
@@ -0,0 +1,66 @@
+package org.fedorov.uniq.lists;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Spliterator по префиксу [index, fence) через get(i). Граница фиксируется при создании,
+// поэтому обход видит согласованный префикс и не мешает писателям.
+// Делится пополам - для ForkJoin это дает сбалансированное дерево задач.
+// Без DISTINCT и IMMUTABLE: не каждый IUniqueList уникален (SimpleNonUniqueList)
+// и не каждый неизменяем; реализации, для которых это верно, объявляют их сами.
+final class IndexedSpliterator<T> implements Spliterator<T> {
+
+    static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED;
+
+    private final IUniqueList<T> list;
+    private int index;
+    private final int fence;
+
+    IndexedSpliterator(IUniqueList<T> list, int index, int fence) {
+        this.list = list;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(list.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        int i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(list.get(i));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        IndexedSpliterator<T> prefix = new IndexedSpliterator<>(list, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
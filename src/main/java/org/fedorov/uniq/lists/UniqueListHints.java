@@ -0,0 +1,137 @@
+package org.fedorov.uniq.lists;
+
+import java.util.Objects;
+
+// Описание ожидаемой нагрузки, по которому UniqueLists выбирает реализацию
+public final class UniqueListHints {
+
+    private final int expectedSize;
+    private final int writerThreads;
+    private final int readerThreads;
+    private final double duplicateRatio;
+    private final Class<?> elementType;
+    private final boolean calibrate;
+
+    private UniqueListHints(Builder builder) {
+        this.expectedSize = builder.expectedSize;
+        this.writerThreads = builder.writerThreads;
+        this.readerThreads = builder.readerThreads;
+        this.duplicateRatio = builder.duplicateRatio;
+        this.elementType = builder.elementType;
+        this.calibrate = builder.calibrate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getExpectedSize() {
+        return expectedSize;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public int getReaderThreads() {
+        return readerThreads;
+    }
+
+    public double getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    public boolean isCalibrate() {
+        return calibrate;
+    }
+
+    // calibrate не участвует в сравнении: это режим выбора, а не свойство нагрузки
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UniqueListHints)) {
+            return false;
+        }
+        UniqueListHints other = (UniqueListHints) o;
+        return expectedSize == other.expectedSize
+            && writerThreads == other.writerThreads
+            && readerThreads == other.readerThreads
+            && Double.compare(duplicateRatio, other.duplicateRatio) == 0
+            && elementType.equals(other.elementType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expectedSize, writerThreads, readerThreads, duplicateRatio, elementType);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UniqueListHints[expectedSize=%d, writerThreads=%d, readerThreads=%d, duplicateRatio=%.2f, elementType=%s, calibrate=%b]",
+            expectedSize, writerThreads, readerThreads, duplicateRatio, elementType.getSimpleName(), calibrate);
+    }
+
+    public static final class Builder {
+        private int expectedSize = 16;
+        private int writerThreads = 1;
+        private int readerThreads = 0;
+        private double duplicateRatio = 0.0;
+        private Class<?> elementType = Object.class;
+        private boolean calibrate = Boolean.getBoolean("uniquelists.calibrate");
+
+        private Builder() {
+        }
+
+        public Builder expectedSize(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+            }
+            this.expectedSize = expectedSize;
+            return this;
+        }
+
+        public Builder writerThreads(int writerThreads) {
+            if (writerThreads < 1) {
+                throw new IllegalArgumentException("There must be at least one writer thread: " + writerThreads);
+            }
+            this.writerThreads = writerThreads;
+            return this;
+        }
+
+        public Builder readerThreads(int readerThreads) {
+            if (readerThreads < 0) {
+                throw new IllegalArgumentException("Reader threads must not be negative: " + readerThreads);
+            }
+            this.readerThreads = readerThreads;
+            return this;
+        }
+
+        public Builder duplicateRatio(double duplicateRatio) {
+            if (duplicateRatio < 0.0 || duplicateRatio > 1.0) {
+                throw new IllegalArgumentException("Duplicate ratio must be within [0, 1]: " + duplicateRatio);
+            }
+            this.duplicateRatio = duplicateRatio;
+            return this;
+        }
+
+        public Builder elementType(Class<?> elementType) {
+            this.elementType = Objects.requireNonNull(elementType, "elementType");
+            return this;
+        }
+
+        public Builder calibrate(boolean calibrate) {
+            this.calibrate = calibrate;
+            return this;
+        }
+
+        public UniqueListHints build() {
+            return new UniqueListHints(this);
+        }
+    }
+}
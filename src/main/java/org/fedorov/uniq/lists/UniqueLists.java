@@ -0,0 +1,298 @@
+package org.fedorov.uniq.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.AtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.CopyOnWriteUniqueList;
+import org.fedorov.uniq.lists.impl.ParallelUniqueListBuilder;
+import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
+import org.fedorov.uniq.lists.impl.SuperValidVolatileLockedUniqueList;
+import org.fedorov.uniq.lists.impl.SynchronizedMethodUniqueList;
+import org.fedorov.uniq.lists.impl.Utf8StringUniqueList;
+
+// Фабрика IUniqueList: выбирает реализацию по описанию нагрузки.
+// В режиме калибровки на текущей машине прогоняется короткая проба кандидатов,
+// и победитель запоминается для этих подсказок до конца жизни JVM.
+public final class UniqueLists {
+
+    public enum Implementation {
+        // Списки на ArrayList читают get()/size() без блокировки писателя,
+        // поэтому при параллельных читателях не выбираются
+        SYNCHRONIZED_METHOD(SynchronizedMethodUniqueList::new, e -> new SynchronizedMethodUniqueList<>(new ArrayList<>(e)), false),
+        ATOMIC_BOOLEAN(AtomicBooleanLockedUniqueList::new, e -> new AtomicBooleanLockedUniqueList<>(new ArrayList<>(e)), false),
+        SUPER_VALID_VOLATILE(SuperValidVolatileLockedUniqueList::new, e -> new SuperValidVolatileLockedUniqueList<>(new ArrayList<>(e)), false),
+        REENTRANT_LOCK(ReentrantLockedUniqueList::new, e -> new ReentrantLockedUniqueList<>(new ArrayList<>(e)), false),
+        ADAPTIVE(AdaptiveUniqueList::new),
+        COPY_ON_WRITE(CopyOnWriteUniqueList::new, e -> {
+            IUniqueList<Object> list = new CopyOnWriteUniqueList<>();
+            list.addAll(e, new boolean[e.size()]);
+            return list;
+        }, true),
+        // Заполненные списки нужны только пробе и невелики, поэтому арена меньше 1 МБ по умолчанию
+        UTF8_STRING(Utf8StringUniqueList::new, e -> {
+            Utf8StringUniqueList list = new Utf8StringUniqueList(PROBE_CHUNK_SIZE, false);
+            for (Object s : e) {
+                list.add((String) s);
+            }
+            return list;
+        }, true, String.class);
+
+        private final Supplier<IUniqueList<?>> factory;
+        private final Function<List<Object>, IUniqueList<?>> prefilled;
+        private final boolean concurrentReads;
+        private final Class<?> elementType;
+
+        Implementation(Supplier<IUniqueList<?>> factory) {
+            this(factory, null, true, Object.class);
+        }
+
+        Implementation(Supplier<IUniqueList<?>> factory, Function<List<Object>, IUniqueList<?>> prefilled, boolean concurrentReads) {
+            this(factory, prefilled, concurrentReads, Object.class);
+        }
+
+        Implementation(Supplier<IUniqueList<?>> factory, Function<List<Object>, IUniqueList<?>> prefilled, boolean concurrentReads, Class<?> elementType) {
+            this.factory = factory;
+            this.prefilled = prefilled;
+            this.concurrentReads = concurrentReads;
+            this.elementType = elementType;
+        }
+
+        public boolean supports(Class<?> type) {
+            return elementType.isAssignableFrom(type);
+        }
+
+        // get()/size()/contains() безопасны параллельно с add()
+        public boolean supportsConcurrentReads() {
+            return concurrentReads;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> IUniqueList<T> create() {
+            return (IUniqueList<T>) factory.get();
+        }
+
+        // Список, заполненный уникальными elements без поэлементного add()
+        // там, где add() сканирует список линейно или копирует его
+        @SuppressWarnings("unchecked")
+        <T> IUniqueList<T> create(List<Object> elements) {
+            if (prefilled != null) {
+                return (IUniqueList<T>) prefilled.apply(elements);
+            }
+            IUniqueList<Object> list = create();
+            for (Object e : elements) {
+                list.add(e);
+            }
+            return (IUniqueList<T>) list;
+        }
+    }
+
+    // Порядок элементов в списке, построенном buildFrom()
+    public enum Ordering {
+        // Как в последовательном add() по входу: каждый элемент на месте первого вхождения
+        FIRST_OCCURRENCE,
+        // Любой порядок: без восстановления порядка входа, чуть быстрее
+        ANY
+    }
+
+    // Во сколько раз читателей должно быть больше писателей, чтобы выбрать copy-on-write
+    private static final int READ_MOSTLY_FACTOR = 8;
+
+    private static final long PROBE_WARMUP_MILLIS = Long.getLong("uniquelists.calibrate.warmupMillis", 20);
+    private static final long PROBE_MEASURE_MILLIS = Long.getLong("uniquelists.calibrate.measureMillis", 50);
+    private static final int PROBE_MAX_SIZE = 4096;
+    private static final int PROBE_MAX_THREADS = 64;
+    // Сколько новых ключей пробы заполняются заранее, вне замера
+    private static final int PROBE_PREFILLED_KEYS = 1 << 18;
+    private static final int PROBE_MAX_GENERATIONS = 4096;
+    private static final int PROBE_CHUNK_SIZE = 1 << 12;
+
+    // С какого размера строковому списку выгоднее компактные UTF-8 арены
+    private static final int LARGE_STRING_LIST = 1 << 16;
+
+    private static final Map<UniqueListHints, Implementation> calibrated = new ConcurrentHashMap<>();
+
+    private UniqueLists() {
+    }
+
+    public static <T> IUniqueList<T> create() {
+        return create(UniqueListHints.builder().build());
+    }
+
+    public static <T> IUniqueList<T> create(UniqueListHints hints) {
+        Implementation implementation = hints.isCalibrate() ? calibrate(hints) : choose(hints);
+        return implementation.create();
+    }
+
+    // Массовое построение из большого входа на parallelism ядрах (см. ParallelUniqueListBuilder)
+    public static <T> IUniqueList<T> buildFrom(T[] elements, int parallelism) {
+        return buildFrom(elements, parallelism, Ordering.FIRST_OCCURRENCE);
+    }
+
+    public static <T> IUniqueList<T> buildFrom(T[] elements, int parallelism, Ordering ordering) {
+        return ParallelUniqueListBuilder.build(elements, parallelism, ordering);
+    }
+
+    public static <T> IUniqueList<T> buildFrom(Spliterator<? extends T> spliterator, int parallelism, Ordering ordering) {
+        return buildFrom(StreamSupport.stream(spliterator, parallelism > 1), parallelism, ordering);
+    }
+
+    public static <T> IUniqueList<T> buildFrom(Stream<? extends T> stream, int parallelism, Ordering ordering) {
+        return ParallelUniqueListBuilder.build(stream, parallelism, ordering);
+    }
+
+    // Эвристика. Измерена только часть с блокировками: в таблицах MultiThreadUniqueListBenchmark
+    // (README) SuperValid Volatile на 2-128 потоках впереди synchronized в 4-50 раз
+    // (AMD: 87.7 против 19.4 M ops/s на 2 потоках, 436.1 против 7.5 на 128).
+    // Synchronized для единственного писателя, READ_MOSTLY_FACTOR и порог размера -
+    // допущения без замеров; проверять их - ReadMostlyUniqueListBenchmark или calibrate(true).
+    // Блокировки выбираются только без читателей: при читателях остаются реализации
+    // с безопасным чтением (supportsConcurrentReads).
+    // Тип элементов учитывается: большие строковые списки уходят в UTF-8 арены
+    public static Implementation choose(UniqueListHints hints) {
+        if (hints.getElementType() == String.class && hints.getExpectedSize() >= LARGE_STRING_LIST) {
+            return Implementation.UTF8_STRING;
+        }
+        int writers = hints.getWriterThreads();
+        double effectiveWriters = writers * (1.0 - hints.getDuplicateRatio());
+        if (hints.getReaderThreads() >= READ_MOSTLY_FACTOR * Math.max(1.0, effectiveWriters)) {
+            return Implementation.COPY_ON_WRITE;
+        }
+        if (hints.getReaderThreads() > 0) {
+            return Implementation.ADAPTIVE;
+        }
+        if (hints.getExpectedSize() <= AdaptiveUniqueList.DEFAULT_THRESHOLD) {
+            return writers == 1 ? Implementation.SYNCHRONIZED_METHOD : Implementation.SUPER_VALID_VOLATILE;
+        }
+        return Implementation.ADAPTIVE;
+    }
+
+    // Первый вызов для новых подсказок блокирует вызывающий поток на время пробы всех
+    // поддерживающих тип кандидатов: 6-7 x (заполнение поколений + warmupMillis + measureMillis),
+    // по умолчанию порядка 1 с.
+    // При читателях пробуются только кандидаты с безопасным чтением.
+    // Повторные вызовы берут результат из кэша. Калибровка включается только явно
+    public static Implementation calibrate(UniqueListHints hints) {
+        Implementation winner = calibrated.get(hints);
+        if (winner != null) {
+            return winner;
+        }
+        long bestScore = -1;
+        try {
+            for (Implementation candidate : Implementation.values()) {
+                if (!candidate.supports(hints.getElementType())
+                        || (hints.getReaderThreads() > 0 && !candidate.supportsConcurrentReads())) {
+                    continue;
+                }
+                long score = probe(candidate, hints);
+                if (score > bestScore) {
+                    bestScore = score;
+                    winner = candidate;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Калибровку прервали - не кэшируем частичный результат
+            return choose(hints);
+        }
+        Implementation previous = calibrated.putIfAbsent(hints, winner);
+        return previous != null ? previous : winner;
+    }
+
+    // Количество операций, выполненных кандидатом за окно измерения.
+    // Для строк проба работает со строковыми ключами, для остальных типов - с Integer.
+    // Чтобы кандидаты сравнивались на подсказанном размере, а не на том, до которого
+    // успели дорасти, новые ключи пишутся в поколения: списки, заранее заполненные
+    // до size. Каждое поколение получает около size новых ключей, затем писатель,
+    // открывший следующее, подменяет текущий список. Когда заготовки кончаются,
+    // следующее поколение строится этим писателем внутри замера
+    static long probe(Implementation candidate, UniqueListHints hints) throws InterruptedException {
+        IntFunction<Object> keys = hints.getElementType() == String.class ? Integer::toString : Integer::valueOf;
+        int size = Math.max(1, Math.min(hints.getExpectedSize(), PROBE_MAX_SIZE));
+        List<Object> prefix = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            prefix.add(keys.apply(i));
+        }
+        List<IUniqueList<Object>> generations = new ArrayList<>();
+        int prefilledGenerations = Math.max(1, Math.min(PROBE_PREFILLED_KEYS / size, PROBE_MAX_GENERATIONS));
+        for (int g = 0; g < prefilledGenerations; g++) {
+            generations.add(candidate.create(prefix));
+        }
+        AtomicReference<IUniqueList<Object>> current = new AtomicReference<>(generations.get(0));
+
+        int writers = Math.min(hints.getWriterThreads(), PROBE_MAX_THREADS);
+        int readers = Math.min(hints.getReaderThreads(), PROBE_MAX_THREADS - writers);
+        double duplicateRatio = hints.getDuplicateRatio();
+        AtomicInteger written = new AtomicInteger();
+
+        // 0 - прогрев, 1 - измерение, 2 - стоп
+        AtomicInteger phase = new AtomicInteger();
+        LongAdder operations = new LongAdder();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(writers + readers);
+
+        for (int i = 0; i < writers + readers; i++) {
+            boolean writer = i < writers;
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long measured = 0;
+                try {
+                    startLatch.await();
+                    int p;
+                    while ((p = phase.get()) != 2) {
+                        if (writer) {
+                            if (random.nextDouble() < duplicateRatio) {
+                                current.get().add(keys.apply(random.nextInt(size)));
+                            } else {
+                                int k = written.getAndIncrement();
+                                int g = k / size;
+                                if (g > 0 && k % size == 0) {
+                                    current.set(g < prefilledGenerations ? generations.get(g) : candidate.create(prefix));
+                                }
+                                current.get().add(keys.apply(size + k));
+                            }
+                        } else {
+                            current.get().contains(keys.apply(random.nextInt(size)));
+                        }
+                        if (p == 1) {
+                            measured++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    operations.add(measured);
+                    finishLatch.countDown();
+                }
+            }, "unique-lists-probe-" + candidate.name() + "-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try {
+            startLatch.countDown();
+            TimeUnit.MILLISECONDS.sleep(PROBE_WARMUP_MILLIS);
+            phase.set(1);
+            TimeUnit.MILLISECONDS.sleep(PROBE_MEASURE_MILLIS);
+        } finally {
+            phase.set(2);
+        }
+        finishLatch.await();
+        return operations.sum();
+    }
+}
@@ -0,0 +1,258 @@
+package org.fedorov.uniq.lists.flow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// Reactive-streams оператор дедупликации: пропускает дальше только элементы,
+// которые впервые попали в IUniqueList. Из источника запрашивает пакетами по batchSize
+// и добавляет каждый пакет через IUniqueList.addAll. Поддерживает одного подписчика.
+public class DeduplicatingProcessor<T> implements Flow.Processor<T, T>, Flow.Subscription {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final IUniqueList<T> list;
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<T> inbound = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Flow.Subscriber<? super T>> downstream = new AtomicReference<>();
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean cancelled;
+    // error записывается до done, читается после него; volatile - его пишут и источник
+    // (onError), и поток подписчика (request(n <= 0)), а читает поток drain()
+    private volatile Throwable error;
+    private volatile boolean done;
+
+    // Состояние ниже трогает только поток, выполняющий drain()
+    private final ArrayDeque<T> ready = new ArrayDeque<>();
+    private final List<T> batch;
+    private final boolean[] added;
+    private long outstanding;
+    private boolean terminated;
+
+    public DeduplicatingProcessor(IUniqueList<T> list) {
+        this(list, DEFAULT_BATCH_SIZE);
+    }
+
+    public DeduplicatingProcessor(IUniqueList<T> list, int batchSize) {
+        this(batchSize, Objects.requireNonNull(list, "list"));
+    }
+
+    // Для наследников, которые сами переопределяют deduplicate()
+    protected DeduplicatingProcessor(int batchSize) {
+        this(batchSize, null);
+    }
+
+    private DeduplicatingProcessor(int batchSize, IUniqueList<T> list) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.list = list;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.added = new boolean[batchSize];
+    }
+
+    // Отмечает в added[i] элементы пакета, встреченные впервые
+    protected void deduplicate(List<T> batch, boolean[] added) {
+        list.addAll(batch, added);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(this);
+            drain();
+        } else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("DeduplicatingProcessor supports only one subscriber"));
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (upstream != null || cancelled) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        inbound.offer(Objects.requireNonNull(item, "item"));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = Objects.requireNonNull(throwable, "throwable");
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            cancelUpstream();
+            onError(new IllegalArgumentException("Non-positive request: " + n));
+            return;
+        }
+        requested.accumulateAndGet(n, (current, delta) -> {
+            long sum = current + delta;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        cancelUpstream();
+        drain();
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription s = upstream;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Flow.Subscriber<? super T> subscriber = downstream.get();
+            Flow.Subscription subscription = upstream;
+            if (subscriber != null && subscription != null && !terminated) {
+                try {
+                    drainLoop(subscriber, subscription);
+                } catch (Throwable t) {
+                    fail(subscriber, t);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void drainLoop(Flow.Subscriber<? super T> subscriber, Flow.Subscription subscription) {
+        long r = requested.get();
+        long emitted = 0;
+        for (;;) {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (!ready.isEmpty()) {
+                if (emitted == r) {
+                    break;
+                }
+                subscriber.onNext(ready.poll());
+                emitted++;
+                continue;
+            }
+            // done читаем до опроса очереди: все элементы до onComplete уже в inbound
+            boolean d = done;
+            if (nextBatch() > 0) {
+                continue;
+            }
+            if (d) {
+                terminate();
+                Throwable t = error;
+                if (t != null) {
+                    subscriber.onError(t);
+                } else {
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            break;
+        }
+
+        if (emitted != 0 && r != Long.MAX_VALUE) {
+            r = requested.addAndGet(-emitted);
+        }
+        // Следующий пакет запрашиваем, только когда предыдущий целиком пришел и разобран
+        if (!done && outstanding == 0 && ready.isEmpty() && r > 0) {
+            outstanding = batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    // Исключение из deduplicate() (например, add() списка) не должно выйти из drain():
+    // иначе wip не сбросится, все следующие drain() сразу вернутся и поток зависнет.
+    // Источник отменяется, подписчик получает onError
+    private void fail(Flow.Subscriber<? super T> subscriber, Throwable t) {
+        if (terminated) {
+            // Терминальный сигнал уже отдан, и бросил сам подписчик
+            return;
+        }
+        cancelUpstream();
+        error = t;
+        done = true;
+        terminate();
+        subscriber.onError(t);
+    }
+
+    private int nextBatch() {
+        batch.clear();
+        T item;
+        while (batch.size() < batchSize && (item = inbound.poll()) != null) {
+            batch.add(item);
+        }
+        int n = batch.size();
+        if (n == 0) {
+            return 0;
+        }
+        outstanding -= n;
+        deduplicate(batch, added);
+        for (int i = 0; i < n; i++) {
+            if (added[i]) {
+                ready.add(batch.get(i));
+                added[i] = false;
+            }
+        }
+        batch.clear();
+        return n;
+    }
+
+    private void terminate() {
+        terminated = true;
+        inbound.clear();
+        ready.clear();
+    }
+}
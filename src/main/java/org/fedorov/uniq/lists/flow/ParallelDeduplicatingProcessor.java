@@ -0,0 +1,124 @@
+package org.fedorov.uniq.lists.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.fedorov.uniq.lists.IUniqueList;
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+
+// Параллельный вариант: пакет раскладывается по партициям по хэшу ключа,
+// и каждая партиция дедуплицируется в своем IUniqueList на отдельном ядре.
+// Одинаковые ключи всегда попадают в одну партицию, поэтому уникальность глобальная,
+// а порядок элементов внутри пакета сохраняется.
+public class ParallelDeduplicatingProcessor<T> extends DeduplicatingProcessor<T> {
+
+    // Пакет крупнее, чем у последовательного варианта: на каждую партицию должна
+    // приходиться работа, заметно большая накладных расходов fork/join
+    public static final int DEFAULT_PARALLEL_BATCH_SIZE = 8192;
+
+    // Меньше элементов на задачу в среднем - партиции разбираются в вызывающем потоке
+    static final int MIN_PARTITION_SIZE = 256;
+
+    private final List<IUniqueList<T>> partitions;
+    private final ForkJoinPool pool;
+
+    public ParallelDeduplicatingProcessor(int parallelism) {
+        this(AdaptiveUniqueList::new, parallelism, DEFAULT_PARALLEL_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ParallelDeduplicatingProcessor(Supplier<? extends IUniqueList<T>> factory, int parallelism, int batchSize, ForkJoinPool pool) {
+        super(batchSize);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(factory.get());
+        }
+        this.pool = pool;
+    }
+
+    public int getParallelism() {
+        return partitions.size();
+    }
+
+    @Override
+    protected void deduplicate(List<T> batch, boolean[] added) {
+        int n = batch.size();
+        int p = partitions.size();
+        if (p == 1) {
+            partitions.get(0).addAll(batch, added);
+            return;
+        }
+
+        // Сортировка подсчетом: индексы элементов пакета, сгруппированные по партициям
+        int[] partitionOf = new int[n];
+        int[] offsets = new int[p + 1];
+        for (int i = 0; i < n; i++) {
+            partitionOf[i] = partition(batch.get(i), p);
+            offsets[partitionOf[i] + 1]++;
+        }
+        for (int k = 0; k < p; k++) {
+            offsets[k + 1] += offsets[k];
+        }
+        int[] order = new int[n];
+        int[] cursor = offsets.clone();
+        for (int i = 0; i < n; i++) {
+            order[cursor[partitionOf[i]]++] = i;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(p);
+        for (int k = 0; k < p; k++) {
+            int partition = k;
+            if (offsets[k] == offsets[k + 1]) {
+                continue;
+            }
+            tasks.add(() -> {
+                // Партиция целиком одним addAll, результат раскладывается обратно по позициям пакета
+                int from = offsets[partition];
+                int length = offsets[partition + 1] - from;
+                List<T> part = new ArrayList<>(length);
+                for (int j = 0; j < length; j++) {
+                    part.add(batch.get(order[from + j]));
+                }
+                boolean[] partAdded = new boolean[length];
+                partitions.get(partition).addAll(part, partAdded);
+                for (int j = 0; j < length; j++) {
+                    added[order[from + j]] = partAdded[j];
+                }
+                return null;
+            });
+        }
+        try {
+            if (n < tasks.size() * MIN_PARTITION_SIZE) {
+                for (Callable<Void> task : tasks) {
+                    task.call();
+                }
+                return;
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Deduplication has been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Deduplication has failed", e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Deduplication has failed", e);
+        }
+    }
+
+    private static int partition(Object e, int partitions) {
+        int h = e.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h * 0x9E3779B9, partitions);
+    }
+}
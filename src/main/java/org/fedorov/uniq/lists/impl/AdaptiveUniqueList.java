@@ -0,0 +1,173 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// Пока список маленький, contains() - линейный проход по массиву; после порога
+// писатель строит хэш-индекс и публикует его одной volatile-записью.
+// Читатели во время миграции продолжают сканировать массив и никогда не ждут.
+public class AdaptiveUniqueList<T> implements IUniqueList<T> {
+
+    public static final int DEFAULT_THRESHOLD = 32;
+
+    private static final Object NULL_KEY = new Object();
+
+    private final int threshold;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Запись: сначала элемент и массив, затем size; чтение: сначала size, затем массив
+    private volatile Object[] elements;
+    private volatile int size;
+    private volatile Map<Object, Integer> index;
+
+    public AdaptiveUniqueList()
+    {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public AdaptiveUniqueList(int threshold){
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+        }
+        this.threshold = threshold;
+        this.elements = new Object[Math.max(threshold, 10)];
+        if (threshold == 0) {
+            this.index = new ConcurrentHashMap<>();
+        }
+    }
+
+    // Для ParallelUniqueListBuilder: элементы уже уникальны, индекс (если нужен) построен
+    AdaptiveUniqueList(Object[] elements, int size, Map<Object, Integer> index) {
+        this.threshold = DEFAULT_THRESHOLD;
+        this.elements = elements.length > 0 ? elements : new Object[DEFAULT_THRESHOLD];
+        this.index = size > DEFAULT_THRESHOLD ? index : null;
+        this.size = size;
+    }
+
+    @Override
+    public boolean add(T e) {
+        boolean added = false;
+        while ( !added && !contains(e)){
+            if( lock.tryLock()){
+                try {
+                    if (!contains(e)) {
+                        append(e);
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+        return added;
+    }
+
+    // Пакет добавляется под одной блокировкой, а не по tryLock() на каждый элемент
+    @Override
+    public int addAll(List<? extends T> elements, boolean[] added) {
+        while (!lock.tryLock()) {
+            Thread.yield();
+        }
+        int count = 0;
+        try {
+            for (int i = 0; i < elements.size(); i++) {
+                T e = elements.get(i);
+                added[i] = !contains(e);
+                if (added[i]) {
+                    append(e);
+                    count++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    private void append(T e) {
+        int n = size;
+        Object[] a = elements;
+        if (n == a.length) {
+            a = Arrays.copyOf(a, n + (n >> 1) + 1);
+            elements = a;
+        }
+        a[n] = e;
+        size = n + 1;
+
+        Map<Object, Integer> idx = index;
+        if (idx != null) {
+            idx.put(key(e), n);
+        } else if (n + 1 > threshold) {
+            index = buildIndex(a, n + 1);
+        }
+    }
+
+    private static Map<Object, Integer> buildIndex(Object[] a, int n) {
+        Map<Object, Integer> idx = new ConcurrentHashMap<>(Math.max(16, n * 2));
+        for (int i = 0; i < n; i++) {
+            idx.putIfAbsent(key(a[i]), i);
+        }
+        return idx;
+    }
+
+    static Object key(Object e) {
+        return e == null ? NULL_KEY : e;
+    }
+
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        int n = size;
+        if (index < 0 || index >= n) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + n);
+        }
+        return (T) elements[index];
+    }
+
+    @Override
+    public boolean contains(T e) {
+        return indexOf(e) >= 0;
+    }
+
+    @Override
+    public int indexOf(T e) {
+        Map<Object, Integer> idx = index;
+        if (idx != null) {
+            Integer position = idx.get(key(e));
+            return position != null ? position : -1;
+        }
+        int n = size;
+        Object[] a = elements;
+        for (int i = 0; i < n; i++) {
+            if (e == null ? a[i] == null : e.equals(a[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Элементы до size уже опубликованы и не меняются: обход массива без блокировки
+    @Override
+    public Spliterator<T> spliterator() {
+        int n = size;
+        return Spliterators.spliterator(elements, 0, n, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+    }
+}
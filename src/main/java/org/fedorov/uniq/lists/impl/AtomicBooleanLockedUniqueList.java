@@ -23,7 +23,7 @@ public class AtomicBooleanLockedUniqueList<T> extends SimpleNonUniqueList<T> {
             if( islocked.compareAndSet(false, true) ) {
                 try{
                     if( !list.contains(e) ){
-                        added = list.add(e);
+                        added = append(e);
                     }
                 }finally{
                     islocked.set(false);
@@ -35,4 +35,16 @@ public class AtomicBooleanLockedUniqueList<T> extends SimpleNonUniqueList<T> {
         
         return added;
     }
+
+    @Override
+    protected Object[] snapshot() {
+        while( !islocked.compareAndSet(false, true) ) {
+            Thread.yield();
+        }
+        try{
+            return list.toArray();
+        }finally{
+            islocked.set(false);
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// RCU-реализация для сценариев "редко пишем, очень часто читаем".
+// Каждая версия - неизменяемые массив и индекс; писатель собирает новую версию
+// и публикует ее одной volatile-записью. Читатели без ожидания читают текущую версию.
+// Ожидающие добавления копятся в очереди, и владелец блокировки применяет их
+// все за одно копирование.
+public class CopyOnWriteUniqueList<T> implements IUniqueList<T> {
+
+    private static final int PENDING = 0;
+    private static final int ADDED = 1;
+    private static final int DUPLICATE = 2;
+
+    private static final class Snapshot {
+        final Object[] elements;
+        final Map<Object, Integer> index;
+
+        Snapshot(Object[] elements, Map<Object, Integer> index) {
+            this.elements = elements;
+            this.index = index;
+        }
+    }
+
+    private static final class PendingAdd {
+        final Object element;
+        volatile int state = PENDING;
+
+        PendingAdd(Object element) {
+            this.element = element;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentLinkedQueue<PendingAdd> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new Object[0], new HashMap<>());
+
+    public CopyOnWriteUniqueList()
+    {
+        super();
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (snapshot.index.containsKey(e)) {
+            return false;
+        }
+        PendingAdd request = new PendingAdd(e);
+        pending.offer(request);
+        return await(request);
+    }
+
+    // Все элементы пакета ставятся в очередь сразу, поэтому обычно применяются одной копией
+    @Override
+    public int addAll(List<? extends T> elements, boolean[] added) {
+        Map<Object, Integer> index = snapshot.index;
+        PendingAdd[] requests = new PendingAdd[elements.size()];
+        for (int i = 0; i < requests.length; i++) {
+            T e = elements.get(i);
+            if (!index.containsKey(e)) {
+                requests[i] = new PendingAdd(e);
+                pending.offer(requests[i]);
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < requests.length; i++) {
+            added[i] = requests[i] != null && await(requests[i]);
+            if (added[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean await(PendingAdd request) {
+        while (request.state == PENDING) {
+            if (lock.tryLock()) {
+                try {
+                    publishPending();
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                Thread.yield();
+            }
+        }
+        return request.state == ADDED;
+    }
+
+    // Вызывается только под блокировкой: применяет все накопленные добавления одной копией
+    private void publishPending() {
+        List<PendingAdd> batch = new ArrayList<>();
+        PendingAdd request;
+        while ((request = pending.poll()) != null) {
+            batch.add(request);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Snapshot current = snapshot;
+        Object[] elements = Arrays.copyOf(current.elements, current.elements.length + batch.size());
+        Map<Object, Integer> index = new HashMap<>(current.index);
+        int size = current.elements.length;
+        boolean[] added = new boolean[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Object e = batch.get(i).element;
+            if (index.putIfAbsent(e, size) == null) {
+                elements[size++] = e;
+                added[i] = true;
+            }
+        }
+        snapshot = new Snapshot(size == elements.length ? elements : Arrays.copyOf(elements, size), index);
+
+        // Результат отдаем только после публикации, чтобы add() не вернул true раньше,
+        // чем элемент станет виден читателям
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).state = added[i] ? ADDED : DUPLICATE;
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.elements.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) snapshot.elements[index];
+    }
+
+    @Override
+    public boolean contains(T e) {
+        return snapshot.index.containsKey(e);
+    }
+
+    @Override
+    public int indexOf(T e) {
+        Integer position = snapshot.index.get(e);
+        return position != null ? position : -1;
+    }
+
+    // Обход одной версии: последующие добавления в нее не попадают
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(snapshot.elements, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+    }
+}
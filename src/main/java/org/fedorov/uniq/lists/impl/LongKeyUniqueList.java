@@ -0,0 +1,213 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// Уникальность по long-ключу, который извлекается из элемента функцией keyExtractor.
+// Индекс - открытая адресация на примитивных массивах: ключи хранятся компактно,
+// а в списке лежат исходные объекты. add()/contains() ничего не аллоцируют
+// (кроме редкого роста массивов), поиск идет без блокировок.
+public class LongKeyUniqueList<T> implements IUniqueList<T> {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int EXPORT_BUFFER_SIZE = 1 << 16;
+
+    // Слот хранит позицию + 1, 0 - пустой слот. Ключ пишется до публикации слота
+    private static final class Table {
+        final long[] keys;
+        final int[] slots;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private final ToLongFunction<? super T> keyExtractor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Запись: массивы, затем size, затем слот индекса; чтение: сначала size
+    private volatile Object[] elements = new Object[INITIAL_CAPACITY];
+    private volatile long[] elementKeys = new long[INITIAL_CAPACITY];
+    private volatile int size;
+    private volatile Table table = new Table(INITIAL_CAPACITY * 2);
+
+    public LongKeyUniqueList(ToLongFunction<? super T> keyExtractor) {
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+    }
+
+    @Override
+    public boolean add(T e) {
+        long key = keyExtractor.applyAsLong(e);
+        boolean added = false;
+        while ( !added && indexOfKey(key) < 0){
+            if( lock.tryLock()){
+                try {
+                    if (indexOfKey(key) < 0) {
+                        append(e, key);
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+        return added;
+    }
+
+    private void append(T e, long key) {
+        int n = size;
+        if (n == elements.length) {
+            int capacity = n + (n >> 1);
+            elementKeys = Arrays.copyOf(elementKeys, capacity);
+            elements = Arrays.copyOf(elements, capacity);
+        }
+        elements[n] = e;
+        elementKeys[n] = key;
+        size = n + 1;
+
+        Table t = table;
+        // Коэффициент заполнения не больше 1/2: пробы остаются короткими
+        if ((n + 1) * 2 > t.slots.length) {
+            t = rehash(t.slots.length * 2, n + 1);
+            table = t;
+        } else {
+            insert(t, key, n);
+        }
+    }
+
+    private Table rehash(int capacity, int n) {
+        Table t = new Table(capacity);
+        long[] keys = elementKeys;
+        for (int i = 0; i < n; i++) {
+            insert(t, keys[i], i);
+        }
+        return t;
+    }
+
+    private static void insert(Table t, long key, int position) {
+        int i = hash(key) & t.mask;
+        while (t.slots[i] != 0) {
+            i = (i + 1) & t.mask;
+        }
+        t.keys[i] = key;
+        SLOTS.setRelease(t.slots, i, position + 1);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public int indexOfKey(long key) {
+        Table t = table;
+        int i = hash(key) & t.mask;
+        int slot;
+        while ((slot = (int) SLOTS.getAcquire(t.slots, i)) != 0) {
+            if (t.keys[i] == key) {
+                return slot - 1;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOfKey(key) >= 0;
+    }
+
+    public long getKey(int index) {
+        int n = size;
+        Objects.checkIndex(index, n);
+        return elementKeys[index];
+    }
+
+    // Пакетный экспорт колонки ключей [from, from + length): копирование массива целиком,
+    // без вызовов на каждый элемент. Ключи опубликованной части списка не меняются,
+    // поэтому копия согласована с size, прочитанным в начале
+    public void exportKeys(int from, long[] dest, int destOffset, int length) {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        System.arraycopy(elementKeys, from, dest, destOffset, length);
+    }
+
+    // Ключи пишутся с текущей позиции в порядке байт буфера, позиция сдвигается
+    public void exportKeys(int from, int length, ByteBuffer dest) {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        if (dest.remaining() / Long.BYTES < length) {
+            throw new BufferOverflowException();
+        }
+        dest.asLongBuffer().put(elementKeys, from, length);
+        dest.position(dest.position() + length * Long.BYTES);
+    }
+
+    // Через direct-буфер: канал пишет из него без дополнительного копирования.
+    // Порядок байт - big-endian, как у ByteBuffer по умолчанию
+    public long exportKeys(int from, int length, FileChannel channel) throws IOException {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        long[] keys = elementKeys;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(EXPORT_BUFFER_SIZE);
+        long written = 0;
+        for (int i = from, end = from + length; i < end; ) {
+            int count = Math.min(end - i, EXPORT_BUFFER_SIZE / Long.BYTES);
+            buffer.clear();
+            buffer.asLongBuffer().put(keys, i, count);
+            buffer.limit(count * Long.BYTES);
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            i += count;
+        }
+        return written;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        int n = size;
+        Objects.checkIndex(index, n);
+        return (T) elements[index];
+    }
+
+    @Override
+    public boolean contains(T e) {
+        return indexOfKey(keyExtractor.applyAsLong(e)) >= 0;
+    }
+
+    @Override
+    public int indexOf(T e) {
+        return indexOfKey(keyExtractor.applyAsLong(e));
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        int n = size;
+        return Spliterators.spliterator(elements, 0, n, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+    }
+}
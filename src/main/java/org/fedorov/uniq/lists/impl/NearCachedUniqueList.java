@@ -0,0 +1,102 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.Objects;
+import java.util.Spliterator;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// Декоратор с потоковым near-кэшем перед общим списком: у каждого потока свой
+// маленький direct-mapped массив элементов, про которые уже известно, что они в списке.
+// Повтор такого элемента сразу возвращает false и не трогает общий lock и индекс.
+// Элементы из списка не удаляются, поэтому запись в кэше никогда не устаревает;
+// промах или вытеснение лишь отправляют вызов в общий список.
+// Время жизни кэша: массив потока держит ссылки на элементы, пока жив поток или пока
+// ThreadLocalMap не вычистит запись после сборки самого декоратора. На долгоживущих
+// потоках пула элементы выброшенного списка остаются достижимыми - перед тем как
+// отпустить список, каждый поток-производитель может вызвать clearCache().
+public class NearCachedUniqueList<T> implements IUniqueList<T> {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final IUniqueList<T> delegate;
+    private final int mask;
+    private final ThreadLocal<Object[]> cache;
+
+    public NearCachedUniqueList(IUniqueList<T> delegate) {
+        this(delegate, DEFAULT_CACHE_SIZE);
+    }
+
+    public NearCachedUniqueList(IUniqueList<T> delegate, int cacheSize) {
+        if (cacheSize < 1 || Integer.bitCount(cacheSize) != 1) {
+            throw new IllegalArgumentException("Cache size must be a positive power of two: " + cacheSize);
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.mask = cacheSize - 1;
+        this.cache = ThreadLocal.withInitial(() -> new Object[cacheSize]);
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (e == null) {
+            return delegate.add(e);
+        }
+        Object[] c = cache.get();
+        int slot = slot(e);
+        Object cached = c[slot];
+        if (cached == e || (cached != null && cached.equals(e))) {
+            return false;
+        }
+        boolean added = delegate.add(e);
+        // После add() элемент в списке в любом случае: добавлен нами или кем-то раньше
+        c[slot] = e;
+        return added;
+    }
+
+    @Override
+    public boolean contains(T e) {
+        if (e == null) {
+            return delegate.contains(e);
+        }
+        Object[] c = cache.get();
+        int slot = slot(e);
+        Object cached = c[slot];
+        if (cached == e || (cached != null && cached.equals(e))) {
+            return true;
+        }
+        if (delegate.contains(e)) {
+            c[slot] = e;
+            return true;
+        }
+        return false;
+    }
+
+    // Сбрасывает кэш вызывающего потока; кэши других потоков не трогает
+    public void clearCache() {
+        cache.remove();
+    }
+
+    private int slot(Object e) {
+        int h = e.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public int indexOf(T e) {
+        return delegate.indexOf(e);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public T get(int index) {
+        return delegate.get(index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return delegate.spliterator();
+    }
+}
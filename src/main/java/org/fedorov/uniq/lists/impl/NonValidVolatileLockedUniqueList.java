@@ -23,7 +23,7 @@ public class NonValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T>
                    islocked = true;
                    try{
                         if( !list.contains(e) ){
-                            list.add(e);
+                            append(e);
                             return true;
                         }
                    }finally{
@@ -35,4 +35,12 @@ public class NonValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T>
         
         return false;
     }
+
+    @Override
+    protected Object[] snapshot() {
+        // Писатели меняют список только внутри synchronized(this)
+        synchronized(this){
+            return list.toArray();
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.List;
+
+// AtomicBooleanLockedUniqueList, у которого флаг блокировки вынесен на отдельную кэш-линию:
+// CAS и сброс флага не инвалидируют линию с list/index и заголовком ArrayList,
+// которую читают все потоки в предварительной проверке contains()
+public class PaddedAtomicBooleanLockedUniqueList<T> extends SimpleNonUniqueList<T> {
+
+    private final PaddedSpinLock lock = new PaddedSpinLock();
+
+    public PaddedAtomicBooleanLockedUniqueList()
+    {
+        super();
+    }
+
+    public PaddedAtomicBooleanLockedUniqueList(List<T> list){
+        super(list);
+    }
+
+    @Override
+    public  boolean add(T e){
+        boolean added = false;
+        while ( !added && !list.contains(e)) {
+            if( lock.tryLock() ) {
+                try{
+                    if( !list.contains(e) ){
+                        added = append(e);
+                    }
+                }finally{
+                    lock.unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+
+        return added;
+    }
+
+    @Override
+    protected Object[] snapshot() {
+        while( !lock.tryLock() ) {
+            Thread.yield();
+        }
+        try{
+            return list.toArray();
+        }finally{
+            lock.unlock();
+        }
+    }
+}
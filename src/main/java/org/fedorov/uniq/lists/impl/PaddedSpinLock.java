@@ -0,0 +1,55 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Состояние спин-блокировки на собственной кэш-линии, padding через иерархию классов
+// (как в JCTools/Disruptor), без -XX:-RestrictContended.
+// С JDK 15 HotSpot кладет поля наследника в дыры суперкласса: при заголовке в 12 байт
+// (compressed class pointers) дыра 12..16 перед первым long, и туда попадал бы locked.
+// Поэтому левый padding сам закрывает дыру байтами b01..b04, и locked оказывается
+// не ближе 72 байт к началу объекта: mark word и предыдущий объект - на другой линии.
+// Справа 8 long: от locked до следующего объекта не меньше 64 байт.
+// Раскладка (Unsafe.objectFieldOffset, JDK 17):
+//   compressed class pointers:    b01..b04 12-15, p01..p07 16-71, locked 72, p11..p18 80-143
+//   -XX:-UseCompressedClassPointers: p01..p07 16-71, b01..b04 72-75, locked 76, p11..p18 80-143
+abstract class PaddedSpinLockLeftPadding {
+    byte b01, b02, b03, b04;
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class PaddedSpinLockState extends PaddedSpinLockLeftPadding {
+    volatile boolean locked;
+}
+
+final class PaddedSpinLock extends PaddedSpinLockState {
+
+    private static final VarHandle LOCKED;
+
+    static {
+        try {
+            LOCKED = MethodHandles.lookup().findVarHandle(PaddedSpinLockState.class, "locked", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p11, p12, p13, p14, p15, p16, p17, p18;
+
+    boolean isLocked() {
+        return locked;
+    }
+
+    boolean tryLock() {
+        return !locked && LOCKED.compareAndSet(this, false, true);
+    }
+
+    // Для вариантов, которые захватывают блокировку под монитором этого же объекта
+    void setLocked(boolean value) {
+        locked = value;
+    }
+
+    void unlock() {
+        locked = false;
+    }
+}
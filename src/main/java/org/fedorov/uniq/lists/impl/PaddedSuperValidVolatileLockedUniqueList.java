@@ -0,0 +1,80 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.List;
+
+// SuperValidVolatileLockedUniqueList с флагом и монитором на отдельной кэш-линии
+// (см. PaddedValidVolatileLockedUniqueList)
+public class PaddedSuperValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T> {
+
+    private final PaddedSpinLock lock = new PaddedSpinLock();
+
+    public PaddedSuperValidVolatileLockedUniqueList() {
+        super();
+    }
+
+    public PaddedSuperValidVolatileLockedUniqueList(List<T> list) {
+        super(list);
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (!list.contains(e)) {
+            lock();
+            try {
+                // Двойная проверка после получения блокировки
+                if (!list.contains(e)) {
+                    return append(e);
+                }
+                return false;
+            } finally {
+                unlock();
+            }
+        }
+        return false;
+    }
+
+    private void lock() {
+        int spins = 0;
+        while (!tryLock()) {
+            if (spins++ < 100) {
+                continue;
+            } else if (spins < 1000) {
+                Thread.onSpinWait();
+            } else {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private boolean tryLock() {
+        if (lock.isLocked()) {
+            return false;
+        }
+
+        synchronized (lock) {
+            if (!lock.isLocked()) {
+                lock.setLocked(true);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void unlock() {
+        lock.unlock();
+    }
+
+    @Override
+    protected Object[] snapshot() {
+        lock();
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
+}
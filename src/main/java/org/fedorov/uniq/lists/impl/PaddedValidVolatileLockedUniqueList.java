@@ -0,0 +1,69 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.List;
+
+// ValidVolatileLockedUniqueList с флагом на отдельной кэш-линии. Монитор тоже берется
+// на объекте блокировки, а не на list: запись в заголовок ArrayList задевала бы
+// линию с size/elementData, которую читают в contains()
+public class PaddedValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T> {
+
+    private final PaddedSpinLock lock = new PaddedSpinLock();
+
+    public PaddedValidVolatileLockedUniqueList()
+    {
+        super();
+    }
+
+    public PaddedValidVolatileLockedUniqueList(List<T> list){
+        super(list);
+    }
+
+    @Override
+    public  boolean add(T e){
+        boolean added = false;
+        while ( !added && !list.contains(e)){
+            if( tryLock()){
+                try {
+                    if (!list.contains(e)) {
+                        added = append(e);
+                    }
+                } finally {
+                    unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+        return added;
+    }
+
+    private boolean tryLock(){
+        if (lock.isLocked()) {
+            return false;
+        }
+
+        synchronized (lock) {
+            if ( !lock.isLocked() ) {
+                lock.setLocked(true);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void unlock(){
+         lock.unlock();
+    }
+
+    @Override
+    protected Object[] snapshot() {
+        while ( !tryLock()) {
+            Thread.yield();
+        }
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
+}
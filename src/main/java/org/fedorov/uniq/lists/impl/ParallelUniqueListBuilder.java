@@ -0,0 +1,255 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.fedorov.uniq.lists.UniqueLists.Ordering;
+
+// Массовое построение уникального списка из большого входа на нескольких ядрах.
+// Вход режется на куски, элементы раскладываются по партициям по хэшу (сортировка подсчетом),
+// каждая партиция дедуплицируется своей открытой адресацией, затем партиции сливаются
+// в один AdaptiveUniqueList с уже построенным индексом. Одинаковые элементы всегда
+// попадают в одну партицию, а внутри партиции индексы идут по возрастанию,
+// поэтому первое вхождение определяется без общей блокировки.
+public final class ParallelUniqueListBuilder {
+
+    // Кусков входа и партиций на одного работника: запас на перекос хэшей
+    private static final int SPLITS_PER_WORKER = 4;
+    private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+    private ParallelUniqueListBuilder() {
+    }
+
+    public static <T> AdaptiveUniqueList<T> build(Object[] source, int parallelism, Ordering ordering) {
+        return build(null, source, parallelism, ordering);
+    }
+
+    public static <T> AdaptiveUniqueList<T> build(Stream<?> stream, int parallelism, Ordering ordering) {
+        return build(Objects.requireNonNull(stream, "stream"), null, parallelism, ordering);
+    }
+
+    private static <T> AdaptiveUniqueList<T> build(Stream<?> stream, Object[] source, int parallelism, Ordering ordering) {
+        Objects.requireNonNull(ordering, "ordering");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            if (stream != null) {
+                Stream<?> s = ordering == Ordering.ANY ? stream.unordered() : stream;
+                // Параллельный поток, запущенный из задачи пула, работает в этом же пуле
+                source = pool != null ? pool.submit(() -> s.toArray()).join() : s.toArray();
+            }
+            return new Build(Objects.requireNonNull(source, "source"), parallelism, ordering, pool).run();
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static final class Build {
+        private final Object[] source;
+        private final int n;
+        private final Ordering ordering;
+        private final ForkJoinPool pool;
+
+        private final int chunks;
+        private final int chunkSize;
+        private final int partitions;
+
+        private final int[] hashes;
+        private final int[] order;
+        private final boolean[] keep;
+        // [кусок][партиция] - сколько элементов куска попало в партицию
+        private final int[][] counts;
+        // [партиция][кусок] - сколько первых вхождений партиции лежит в куске
+        private final int[][] kept;
+        private final int[] partitionStart;
+        private final int[] uniqueCount;
+
+        Build(Object[] source, int parallelism, Ordering ordering, ForkJoinPool pool) {
+            this.source = source;
+            this.n = source.length;
+            this.ordering = ordering;
+            this.pool = pool;
+            int splits = parallelism == 1 ? 1 : parallelism * SPLITS_PER_WORKER;
+            this.chunks = Math.max(1, Math.min(splits, n / MIN_CHUNK_SIZE));
+            this.chunkSize = (n + chunks - 1) / chunks;
+            this.partitions = splits;
+            this.hashes = new int[n];
+            this.order = new int[n];
+            this.keep = ordering == Ordering.FIRST_OCCURRENCE ? new boolean[n] : null;
+            this.counts = new int[chunks][partitions];
+            this.kept = new int[partitions][chunks];
+            this.partitionStart = new int[partitions + 1];
+            this.uniqueCount = new int[partitions];
+        }
+
+        <T> AdaptiveUniqueList<T> run() {
+            forEach(chunks, this::hashChunk);
+            for (int p = 0; p < partitions; p++) {
+                int start = partitionStart[p];
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][p];
+                    counts[c][p] = start;
+                    start += count;
+                }
+                partitionStart[p + 1] = start;
+            }
+            forEach(chunks, this::scatterChunk);
+            forEach(partitions, this::deduplicatePartition);
+
+            int size = 0;
+            for (int p = 0; p < partitions; p++) {
+                size += uniqueCount[p];
+            }
+            Object[] elements = new Object[size];
+            Map<Object, Integer> index = size > AdaptiveUniqueList.DEFAULT_THRESHOLD ? new ConcurrentHashMap<>(size) : null;
+            if (ordering == Ordering.FIRST_OCCURRENCE) {
+                int[] chunkStart = new int[chunks];
+                for (int c = 0, start = 0; c < chunks; c++) {
+                    chunkStart[c] = start;
+                    for (int p = 0; p < partitions; p++) {
+                        start += kept[p][c];
+                    }
+                }
+                forEach(chunks, c -> copyChunk(c, chunkStart[c], elements, index));
+            } else {
+                int[] start = new int[partitions];
+                for (int p = 1; p < partitions; p++) {
+                    start[p] = start[p - 1] + uniqueCount[p - 1];
+                }
+                forEach(partitions, p -> copyPartition(p, start[p], elements, index));
+            }
+            return new AdaptiveUniqueList<>(elements, size, index);
+        }
+
+        private void hashChunk(int c) {
+            int[] count = counts[c];
+            for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int h = hash(source[i]);
+                hashes[i] = h;
+                count[partition(h)]++;
+            }
+        }
+
+        // Внутри партиции индексы остаются по возрастанию: куски идут по порядку
+        private void scatterChunk(int c) {
+            int[] cursor = counts[c];
+            for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                order[cursor[partition(hashes[i])]++] = i;
+            }
+        }
+
+        private void deduplicatePartition(int p) {
+            int from = partitionStart[p];
+            int to = partitionStart[p + 1];
+            // позиция во входе + 1, 0 - пустой слот; заполнение не больше 1/2
+            int[] slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, to - from)) << 2)];
+            int mask = slots.length - 1;
+            int[] keptInChunk = kept[p];
+            int unique = 0;
+            for (int j = from; j < to; j++) {
+                int i = order[j];
+                int h = hashes[i];
+                Object e = source[i];
+                int s = h & mask;
+                int slot;
+                boolean duplicate = false;
+                while ((slot = slots[s]) != 0) {
+                    int k = slot - 1;
+                    if (hashes[k] == h && Objects.equals(source[k], e)) {
+                        duplicate = true;
+                        break;
+                    }
+                    s = (s + 1) & mask;
+                }
+                if (duplicate) {
+                    continue;
+                }
+                slots[s] = i + 1;
+                if (keep != null) {
+                    keep[i] = true;
+                    keptInChunk[i / chunkSize]++;
+                } else {
+                    // Уплотняем уникальные на месте: позиция записи не обгоняет чтение
+                    order[from + unique] = i;
+                }
+                unique++;
+            }
+            uniqueCount[p] = unique;
+        }
+
+        private void copyChunk(int c, int position, Object[] elements, Map<Object, Integer> index) {
+            for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                if (keep[i]) {
+                    put(elements, index, position++, source[i]);
+                }
+            }
+        }
+
+        private void copyPartition(int p, int position, Object[] elements, Map<Object, Integer> index) {
+            for (int j = partitionStart[p], end = j + uniqueCount[p]; j < end; j++) {
+                put(elements, index, position++, source[order[j]]);
+            }
+        }
+
+        private static void put(Object[] elements, Map<Object, Integer> index, int position, Object e) {
+            elements[position] = e;
+            if (index != null) {
+                index.put(AdaptiveUniqueList.key(e), position);
+            }
+        }
+
+        // Партиция по старшим битам хэша, слот таблицы - по младшим
+        private int partition(int h) {
+            return (int) (((h & 0xFFFF_FFFFL) * partitions) >>> 32);
+        }
+
+        private void forEach(int tasks, IntConsumer task) {
+            if (pool == null) {
+                for (int k = 0; k < tasks; k++) {
+                    task.accept(k);
+                }
+                return;
+            }
+            List<Callable<Void>> callables = new ArrayList<>(tasks);
+            for (int k = 0; k < tasks; k++) {
+                int id = k;
+                callables.add(() -> {
+                    task.accept(id);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> future : pool.invokeAll(callables)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Parallel build has been interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Parallel build has failed", e.getCause());
+            }
+        }
+    }
+
+    private static int hash(Object e) {
+        int h = e == null ? 0 : e.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -23,7 +23,7 @@ public class ReentrantLockedUniqueList<T> extends SimpleNonUniqueList<T> {
             if( tryLock()){
                 try {
                     if (!list.contains(e)) {
-                        added = list.add(e);
+                        added = append(e);
                     }
                 } finally {
                     unlock();
@@ -42,4 +42,14 @@ public class ReentrantLockedUniqueList<T> extends SimpleNonUniqueList<T> {
     private void unlock(){
          lock.unlock();
     }
+
+    @Override
+    protected Object[] snapshot() {
+        lock.lock();
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
 }
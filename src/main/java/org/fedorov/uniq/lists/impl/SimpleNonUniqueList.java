@@ -2,6 +2,10 @@ package org.fedorov.uniq.lists.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.fedorov.uniq.lists.IUniqueList;
 
@@ -9,17 +13,37 @@ public class SimpleNonUniqueList<T> implements IUniqueList<T> {
 
     protected final List<T> list;
 
+    // Обратный индекс элемент -> позиция первого вхождения, читается без блокировок
+    protected final Map<T, Integer> index = new ConcurrentHashMap<>();
+
     public SimpleNonUniqueList(){
         this.list = new ArrayList<>(); ;
     }
 
     public SimpleNonUniqueList(List<T> list){
         this.list = list;
+        for (int i = 0; i < list.size(); i++) {
+            T e = list.get(i);
+            if (e != null) {
+                index.putIfAbsent(e, i);
+            }
+        }
     }
 
     @Override
     public boolean add(T e) {
-        return list.add(e);
+        return append(e);
+    }
+
+    // Добавляет элемент в список и публикует его позицию в индексе.
+    // Наследники вызывают его внутри своей критической секции вместо list.add(e)
+    protected boolean append(T e) {
+        int position = list.size();
+        boolean added = list.add(e);
+        if (added && e != null) {
+            index.putIfAbsent(e, position);
+        }
+        return added;
     }
 
     @Override
@@ -31,6 +55,37 @@ public class SimpleNonUniqueList<T> implements IUniqueList<T> {
     public T get(int index) {
         return list.get(index);
     }
+
+    // ArrayList.get() без блокировки писателя - гонка с add(): можно прочитать null
+    // или устаревший elementData. Поэтому обход идет по копии, снятой в snapshot()
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(snapshot(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    // Копия содержимого для обхода. Здесь без синхронизации: SimpleNonUniqueList и
+    // SimpleUniqueList не потокобезопасны, и обход параллельно с add() для них не определен.
+    // Потокобезопасные наследники снимают копию под своей блокировкой
+    protected Object[] snapshot() {
+        return list.toArray();
+    }
+
+    @Override
+    public boolean contains(T e) {
+        if (e == null) {
+            return list.contains(null);
+        }
+        return index.containsKey(e);
+    }
+
+    @Override
+    public int indexOf(T e) {
+        if (e == null) {
+            return list.indexOf(null);
+        }
+        Integer position = index.get(e);
+        return position != null ? position : -1;
+    }
     
 
     // @Override
@@ -38,11 +93,6 @@ public class SimpleNonUniqueList<T> implements IUniqueList<T> {
     //     return list.isEmpty();
     // }
 
-    // @Override
-    // public boolean contains(Object o) {
-    //     return list.contains(o);
-    // }
-
     // @Override
     // public Iterator<T> iterator() {
     //     return list.iterator();
@@ -110,11 +160,6 @@ public class SimpleNonUniqueList<T> implements IUniqueList<T> {
     //     return list.remove(index);
     // }
 
-    // @Override
-    // public int indexOf(Object o) {
-    //     return list.indexOf(o);
-    // }
-
     // @Override
     // public int lastIndexOf(Object o) {
     //     return list.lastIndexOf(o);
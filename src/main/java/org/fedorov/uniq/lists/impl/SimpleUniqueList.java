@@ -16,7 +16,7 @@ public class SimpleUniqueList<T> extends SimpleNonUniqueList<T> {
     @Override
     public boolean add(T e){
         if( !list.contains(e) ){
-            list.add(e);
+            append(e);
             return true;
         }
         return false;
@@ -22,7 +22,7 @@ public class SuperValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T
             try {
                 // Двойная проверка после получения блокировки
                 if (!list.contains(e)) {
-                    return list.add(e);
+                    return append(e);
                 }
                 return false;
             } finally {
@@ -70,4 +70,14 @@ public class SuperValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T
     private void unlock() {
         locked = false;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected Object[] snapshot() {
+        lock();
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
+}
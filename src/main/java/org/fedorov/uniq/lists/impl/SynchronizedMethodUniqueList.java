@@ -17,9 +17,14 @@ public class SynchronizedMethodUniqueList<T> extends SimpleNonUniqueList<T> {
     @Override
     public synchronized boolean add(T e){
         if( !list.contains(e) ){
-            list.add(e);
+            append(e);
             return true;
         }
         return false;
     }
+
+    @Override
+    protected synchronized Object[] snapshot() {
+        return list.toArray();
+    }
 }
@@ -18,10 +18,17 @@ public class SynchronizedSectionUniqueList<T> extends SimpleNonUniqueList<T> {
     public boolean add(T e){
         synchronized (list) {
             if( !list.contains(e) ){
-                list.add(e);
+                append(e);
                 return true;
             }
             return false;
         }
     }
+
+    @Override
+    protected Object[] snapshot() {
+        synchronized (list) {
+            return list.toArray();
+        }
+    }
 }
@@ -17,10 +17,17 @@ public class SynchronizedVariableUniqueList<T> extends SimpleNonUniqueList<T> {
     public  boolean add(T e){
         synchronized(list){
             if( !list.contains(e) ){
-                list.add(e);
+                append(e);
                 return true;
             }
         }
         return false;
     }
+
+    @Override
+    protected Object[] snapshot() {
+        synchronized (list) {
+            return list.toArray();
+        }
+    }
 }
@@ -0,0 +1,573 @@
+package org.fedorov.uniq.lists.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.fedorov.uniq.lists.IUniqueList;
+
+// Специализированный список строк: UTF-8 байты лежат подряд в чанках-аренах
+// (в куче или вне ее) без разрывов, строка может переходить из чанка в чанк.
+// Метаданные на элемент: граница в колонке int (длина - разность соседних границ)
+// и 1.33-2.67 слота индекса с открытой адресацией. В старших битах слота лежат биты
+// хэша, поэтому колонки хэшей нет, а байты сравниваются только при совпадении этих битов.
+// add(CharSequence) и add(byte[], off, len) не создают String, строка материализуется только в get().
+public class Utf8StringUniqueList implements IUniqueList<String> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    // Границы - беззнаковые int, поэтому все строки вместе занимают меньше 4 ГБ
+    private static final long MAX_ARENA_SIZE = 0xFFFF_FFFFL;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // Колонка границ растет страницами: без копирования всей колонки и без запаса в полтора раза.
+    // Первая страница растет удвоением, чтобы маленький список не занимал 256 КБ
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final class Table {
+        // Младшие биты (по mask) - позиция + 1, старшие - те же биты хэша; 0 - пустой слот
+        final int[] slots;
+        final int mask;
+        // Заполнение не больше 3/4
+        final int threshold;
+
+        Table(int capacity) {
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            this.threshold = capacity - (capacity >> 2);
+        }
+    }
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final boolean offHeap;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Запись: байты и граница конца, затем size, затем слот индекса; чтение: сначала size.
+    // bounds[i] - начало элемента i в общем адресном пространстве арен, bounds[size] - конец последнего
+    private volatile ByteBuffer[] chunks;
+    private volatile int[][] bounds = { new int[INITIAL_CAPACITY] };
+    private volatile int size;
+    private volatile Table table = new Table(INITIAL_CAPACITY * 2);
+
+    // Только под блокировкой
+    private int chunkCount;
+    private long tail;
+
+    public Utf8StringUniqueList()
+    {
+        this(DEFAULT_CHUNK_SIZE, false);
+    }
+
+    // Размер чанка округляется вверх до степени двойки
+    public Utf8StringUniqueList(int chunkSize, boolean offHeap) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be in [1, 2^30]: " + chunkSize);
+        }
+        int size = Integer.highestOneBit(chunkSize);
+        if (size < chunkSize) {
+            size <<= 1;
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(size);
+        this.chunkMask = size - 1;
+        this.offHeap = offHeap;
+        this.chunks = new ByteBuffer[] { allocate(size) };
+        this.chunkCount = 1;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private int chunkSize() {
+        return chunkMask + 1;
+    }
+
+    @Override
+    public boolean add(String e) {
+        return add((CharSequence) e);
+    }
+
+    public boolean add(CharSequence e) {
+        int hash = hash(e);
+        boolean added = false;
+        while ( !added && indexOf(e, hash) < 0){
+            if( lock.tryLock()){
+                try {
+                    if (indexOf(e, hash) < 0) {
+                        int length = encodedLength(e);
+                        long start = reserve(length);
+                        if (chunkOffset(start) + length <= chunkSize()) {
+                            encode(e, chunks[chunkIndex(start)], chunkOffset(start));
+                        } else {
+                            // Строка на стыке чанков: кодируем во временный массив
+                            byte[] bytes = new byte[length];
+                            encode(e, ByteBuffer.wrap(bytes), 0);
+                            write(start, bytes, 0, length);
+                        }
+                        append(start + length, hash);
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+        return added;
+    }
+
+    public boolean add(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int hash = hash(bytes, offset, length);
+        boolean added = false;
+        while ( !added && indexOf(bytes, offset, length, hash) < 0){
+            if( lock.tryLock()){
+                try {
+                    if (indexOf(bytes, offset, length, hash) < 0) {
+                        long start = reserve(length);
+                        write(start, bytes, offset, length);
+                        append(start + length, hash);
+                        added = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }else {
+                Thread.yield();
+            }
+        }
+        return added;
+    }
+
+    // Место под length байт сразу за предыдущей строкой. Чанк, в который попадет
+    // следующая строка, выделяется заранее, поэтому chunks[chunkIndex(start)] есть всегда
+    private long reserve(int length) {
+        long start = tail;
+        long end = start + length;
+        if (end > MAX_ARENA_SIZE) {
+            throw new IllegalStateException("UTF-8 arena is full: " + start + " + " + length + " bytes");
+        }
+        while (((long) chunkCount << chunkShift) <= end) {
+            addChunk(allocate(chunkSize()));
+        }
+        tail = end;
+        return start;
+    }
+
+    private void addChunk(ByteBuffer chunk) {
+        ByteBuffer[] cs = chunks;
+        if (chunkCount == cs.length) {
+            cs = Arrays.copyOf(cs, cs.length * 2);
+        }
+        cs[chunkCount++] = chunk;
+        chunks = cs;
+    }
+
+    private void write(long address, byte[] bytes, int offset, int length) {
+        ByteBuffer[] cs = chunks;
+        while (length > 0) {
+            int chunkOffset = chunkOffset(address);
+            int k = Math.min(length, chunkSize() - chunkOffset);
+            cs[chunkIndex(address)].put(chunkOffset, bytes, offset, k);
+            address += k;
+            offset += k;
+            length -= k;
+        }
+    }
+
+    private void read(ByteBuffer[] cs, long address, byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int chunkOffset = chunkOffset(address);
+            int k = Math.min(length, chunkSize() - chunkOffset);
+            cs[chunkIndex(address)].get(chunkOffset, bytes, offset, k);
+            address += k;
+            offset += k;
+            length -= k;
+        }
+    }
+
+    private void append(long end, int hash) {
+        int n = size;
+        setBound(n + 1, (int) end);
+        size = n + 1;
+
+        Table t = table;
+        if (n + 1 > t.threshold) {
+            // Хэши не хранятся: при росте таблицы они пересчитываются по байтам арены
+            t = new Table(t.slots.length * 2);
+            int[][] bs = bounds;
+            ByteBuffer[] cs = chunks;
+            for (int i = 0; i < n; i++) {
+                insert(t, hash(cs, address(bound(bs, i)), address(bound(bs, i + 1))), i);
+            }
+            insert(t, hash, n);
+            table = t;
+        } else {
+            insert(t, hash, n);
+        }
+    }
+
+    private void setBound(int i, int value) {
+        int[][] pages = bounds;
+        int page = i >>> PAGE_SHIFT;
+        if (page == pages.length) {
+            pages = Arrays.copyOf(pages, page + 1);
+            pages[page] = new int[PAGE_SIZE];
+            bounds = pages;
+        } else if (page == 0 && i == pages[0].length) {
+            pages = pages.clone();
+            pages[0] = Arrays.copyOf(pages[0], Math.min(PAGE_SIZE, i * 2));
+            bounds = pages;
+        }
+        pages[page][i & PAGE_MASK] = value;
+    }
+
+    private static int bound(int[][] pages, int i) {
+        return pages[i >>> PAGE_SHIFT][i & PAGE_MASK];
+    }
+
+    private static void insert(Table t, int hash, int position) {
+        int i = hash & t.mask;
+        while (t.slots[i] != 0) {
+            i = (i + 1) & t.mask;
+        }
+        SLOTS.setRelease(t.slots, i, (hash & ~t.mask) | (position + 1));
+    }
+
+    private static long address(int bound) {
+        return bound & 0xFFFF_FFFFL;
+    }
+
+    private int chunkIndex(long address) {
+        return (int) (address >>> chunkShift);
+    }
+
+    private int chunkOffset(long address) {
+        return (int) address & chunkMask;
+    }
+
+    public boolean contains(CharSequence e) {
+        return indexOf(e, hash(e)) >= 0;
+    }
+
+    public int indexOf(CharSequence e) {
+        return indexOf(e, hash(e));
+    }
+
+    public int indexOf(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return indexOf(bytes, offset, length, hash(bytes, offset, length));
+    }
+
+    private int indexOf(CharSequence e, int hash) {
+        Table t = table;
+        int tag = hash & ~t.mask;
+        int i = hash & t.mask;
+        int slot;
+        while ((slot = (int) SLOTS.getAcquire(t.slots, i)) != 0) {
+            if ((slot & ~t.mask) == tag) {
+                int position = (slot & t.mask) - 1;
+                int[][] bs = bounds;
+                long start = address(bound(bs, position));
+                int length = (int) (address(bound(bs, position + 1)) - start);
+                if (chunkOffset(start) + length <= chunkSize()) {
+                    if (equals(e, chunks[chunkIndex(start)], chunkOffset(start), length)) {
+                        return position;
+                    }
+                } else if (equals(e, ByteBuffer.wrap(bytes(chunks, start, length)), 0, length)) {
+                    return position;
+                }
+            }
+            i = (i + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    private int indexOf(byte[] bytes, int offset, int length, int hash) {
+        Table t = table;
+        int tag = hash & ~t.mask;
+        int i = hash & t.mask;
+        int slot;
+        while ((slot = (int) SLOTS.getAcquire(t.slots, i)) != 0) {
+            if ((slot & ~t.mask) == tag) {
+                int position = (slot & t.mask) - 1;
+                int[][] bs = bounds;
+                long start = address(bound(bs, position));
+                if (address(bound(bs, position + 1)) - start == length) {
+                    if (chunkOffset(start) + length <= chunkSize()) {
+                        if (equals(bytes, offset, length, chunks[chunkIndex(start)], chunkOffset(start))) {
+                            return position;
+                        }
+                    } else if (Arrays.equals(bytes, offset, offset + length, bytes(chunks, start, length), 0, length)) {
+                        return position;
+                    }
+                }
+            }
+            i = (i + 1) & t.mask;
+        }
+        return -1;
+    }
+
+    private byte[] bytes(ByteBuffer[] cs, long start, int length) {
+        byte[] bytes = new byte[length];
+        read(cs, start, bytes, 0, length);
+        return bytes;
+    }
+
+    @Override
+    public boolean contains(String e) {
+        return contains((CharSequence) e);
+    }
+
+    @Override
+    public int indexOf(String e) {
+        return indexOf((CharSequence) e);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        int n = size;
+        Objects.checkIndex(index, n);
+        int[][] bs = bounds;
+        long start = address(bound(bs, index));
+        int length = (int) (address(bound(bs, index + 1)) - start);
+        ByteBuffer[] cs = chunks;
+        ByteBuffer chunk = cs[chunkIndex(start)];
+        if (chunk.hasArray() && chunkOffset(start) + length <= chunkSize()) {
+            return new String(chunk.array(), chunk.arrayOffset() + chunkOffset(start), length, StandardCharsets.UTF_8);
+        }
+        return new String(bytes(cs, start, length), StandardCharsets.UTF_8);
+    }
+
+    // Пакетный экспорт [from, from + length): длины - разностями границ, байты - подряд без
+    // разделителей. Строки диапазона лежат в арене впритык, поэтому байты копируются
+    // по одному разу на каждый затронутый чанк. String при этом не создаются
+    public void exportLengths(int from, int[] dest, int destOffset, int length) {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        Objects.checkFromIndexSize(destOffset, length, dest.length);
+        int[][] bs = bounds;
+        int previous = bound(bs, from);
+        for (int i = 0; i < length; i++) {
+            int next = bound(bs, from + i + 1);
+            dest[destOffset + i] = next - previous;
+            previous = next;
+        }
+    }
+
+    // Сколько байт запишут exportBytes для того же диапазона
+    public long byteLength(int from, int length) {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        int[][] bs = bounds;
+        return address(bound(bs, from + length)) - address(bound(bs, from));
+    }
+
+    public void exportBytes(int from, int length, ByteBuffer dest) {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        int[][] bs = bounds;
+        long address = address(bound(bs, from));
+        long end = address(bound(bs, from + length));
+        if (dest.remaining() < end - address) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer[] cs = chunks;
+        while (address < end) {
+            int chunkOffset = chunkOffset(address);
+            int k = (int) Math.min(end - address, chunkSize() - chunkOffset);
+            // Абсолютный put не трогает позицию общего чанка
+            dest.put(dest.position(), cs[chunkIndex(address)], chunkOffset, k);
+            dest.position(dest.position() + k);
+            address += k;
+        }
+    }
+
+    // Участки off-heap арены уходят в канал напрямую, без промежуточных буферов
+    public long exportBytes(int from, int length, FileChannel channel) throws IOException {
+        int n = size;
+        Objects.checkFromIndexSize(from, length, n);
+        int[][] bs = bounds;
+        long address = address(bound(bs, from));
+        long end = address(bound(bs, from + length));
+        ByteBuffer[] cs = chunks;
+        long written = 0;
+        while (address < end) {
+            int chunkOffset = chunkOffset(address);
+            int k = (int) Math.min(end - address, chunkSize() - chunkOffset);
+            ByteBuffer run = cs[chunkIndex(address)].slice(chunkOffset, k);
+            while (run.hasRemaining()) {
+                written += channel.write(run);
+            }
+            address += k;
+        }
+        return written;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    // Сколько байт занимают арены (включая незаполненный хвост текущего чанка)
+    public long arenaCapacity() {
+        lock.lock();
+        try {
+            return (long) chunkCount << chunkShift;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- UTF-8 без промежуточных массивов. Непарные суррогаты кодируются как '?',
+    // так же как в String.getBytes(StandardCharsets.UTF_8)
+
+    private static int codePointAt(CharSequence s, int i) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            return Character.toCodePoint(c, s.charAt(i + 1));
+        }
+        return Character.isSurrogate(c) ? '?' : c;
+    }
+
+    private static int utf8Length(int cp) {
+        return cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+    }
+
+    private static byte utf8Byte(int cp, int n, int k) {
+        if (n == 1) {
+            return (byte) cp;
+        }
+        if (k == 0) {
+            return (byte) (((0xF00 >> n) & 0xFF) | (cp >> (6 * (n - 1))));
+        }
+        return (byte) (0x80 | ((cp >> (6 * (n - 1 - k))) & 0x3F));
+    }
+
+    private static int charCount(int cp) {
+        return cp >= 0x10000 ? 2 : 1;
+    }
+
+    private static int encodedLength(CharSequence s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); ) {
+            int cp = codePointAt(s, i);
+            i += charCount(cp);
+            length += utf8Length(cp);
+        }
+        return length;
+    }
+
+    private static void encode(CharSequence s, ByteBuffer chunk, int offset) {
+        for (int i = 0; i < s.length(); ) {
+            int cp = codePointAt(s, i);
+            i += charCount(cp);
+            int n = utf8Length(cp);
+            for (int k = 0; k < n; k++) {
+                chunk.put(offset++, utf8Byte(cp, n, k));
+            }
+        }
+    }
+
+    private static boolean equals(CharSequence s, ByteBuffer chunk, int offset, int length) {
+        int end = offset + length;
+        for (int i = 0; i < s.length(); ) {
+            int cp = codePointAt(s, i);
+            i += charCount(cp);
+            int n = utf8Length(cp);
+            if (offset + n > end) {
+                return false;
+            }
+            for (int k = 0; k < n; k++) {
+                if (chunk.get(offset++) != utf8Byte(cp, n, k)) {
+                    return false;
+                }
+            }
+        }
+        return offset == end;
+    }
+
+    private static boolean equals(byte[] bytes, int from, int length, ByteBuffer chunk, int offset) {
+        if (chunk.hasArray()) {
+            int start = chunk.arrayOffset() + offset;
+            return Arrays.equals(bytes, from, from + length, chunk.array(), start, start + length);
+        }
+        for (int k = 0; k < length; k++) {
+            if (bytes[from + k] != chunk.get(offset + k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a по байтам UTF-8 с финальным перемешиванием
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(CharSequence s) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < s.length(); ) {
+            int cp = codePointAt(s, i);
+            i += charCount(cp);
+            int n = utf8Length(cp);
+            for (int k = 0; k < n; k++) {
+                h = (h ^ (utf8Byte(cp, n, k) & 0xFF)) * 0x01000193;
+            }
+        }
+        return mix(h);
+    }
+
+    private int hash(ByteBuffer[] cs, long address, long end) {
+        int h = 0x811C9DC5;
+        while (address < end) {
+            ByteBuffer chunk = cs[chunkIndex(address)];
+            int from = chunkOffset(address);
+            int to = (int) Math.min(from + (end - address), chunkSize());
+            if (chunk.hasArray()) {
+                byte[] bytes = chunk.array();
+                for (int k = chunk.arrayOffset() + from, e = chunk.arrayOffset() + to; k < e; k++) {
+                    h = (h ^ (bytes[k] & 0xFF)) * 0x01000193;
+                }
+            } else {
+                for (int k = from; k < to; k++) {
+                    h = (h ^ (chunk.get(k) & 0xFF)) * 0x01000193;
+                }
+            }
+            address += to - from;
+        }
+        return mix(h);
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int k = offset; k < offset + length; k++) {
+            h = (h ^ (bytes[k] & 0xFF)) * 0x01000193;
+        }
+        return mix(h);
+    }
+}
@@ -22,7 +22,7 @@ public class ValidReentrantLockedUniqueList<T> extends SimpleNonUniqueList<T> {
         lock();
         try {
             if (!list.contains(e)) {
-                added = list.add(e);
+                added = append(e);
             }
         } finally {
             unlock();
@@ -37,4 +37,14 @@ public class ValidReentrantLockedUniqueList<T> extends SimpleNonUniqueList<T> {
     private void unlock(){
          lock.unlock();
     }
+
+    @Override
+    protected Object[] snapshot() {
+        lock();
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
 }
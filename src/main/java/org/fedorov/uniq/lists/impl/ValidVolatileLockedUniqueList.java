@@ -22,7 +22,7 @@ public class ValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T> {
             if( tryLock()){
                 try {
                     if (!list.contains(e)) {
-                        added = list.add(e);
+                        added = append(e);
                     }
                 } finally {
                     unlock();
@@ -51,4 +51,16 @@ public class ValidVolatileLockedUniqueList<T> extends SimpleNonUniqueList<T> {
     private void unlock(){
          islocked = false;
     }
+
+    @Override
+    protected Object[] snapshot() {
+        while ( !tryLock()) {
+            Thread.yield();
+        }
+        try {
+            return list.toArray();
+        } finally {
+            unlock();
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package org.fedorov.uniq.lists;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Сравнение линейного поиска, чистого хэш-индекса и адаптивной реализации по LIST_SIZE
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(value = 1)
+public class AdaptiveUniqueListBenchmark {
+
+    public enum ListImplementation {
+        LINEAR_SCAN(ReentrantLockedUniqueList::new),
+        HASH_INDEX(() -> new AdaptiveUniqueList<>(0)),
+        ADAPTIVE(AdaptiveUniqueList::new);
+
+        private final Supplier<IUniqueList<Integer>> factory;
+
+        ListImplementation(Supplier<IUniqueList<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        public IUniqueList<Integer> create() {
+            return factory.get();
+        }
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param({"4", "10", "32", "100", "1000"})
+    private int LIST_SIZE;
+
+    private IUniqueList<Integer> list;
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        list = implementationName.create();
+        // Заполняем заранее, чтобы мерить поиск на стабильном размере, а не рост списка
+        for (int i = 0; i < LIST_SIZE; i++) {
+            list.add(i);
+        }
+    }
+
+    private void runBenchmark(Blackhole blackhole) {
+        boolean added = list.add(ThreadLocalRandom.current().nextInt(LIST_SIZE));
+        blackhole.consume(added);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testWith1Thread(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testWith4Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void testWith16Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Test
+    public void testAdaptiveUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(AdaptiveUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/adaptive-results.json")
+                .jvmArgs(
+                    "-Xms4G", "-Xmx4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,122 @@
+package org.fedorov.uniq.lists;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fedorov.uniq.lists.UniqueLists.Ordering;
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Стартовая загрузка COUNT ключей-кандидатов (половина - повторы):
+// поэлементный add() из одного потока против UniqueLists.buildFrom на WORKERS ядрах.
+// Точка отсчета от WORKERS не зависит, поэтому у нее отдельное состояние без этого параметра
+@BenchmarkMode({Mode.SingleShotTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+public class BulkBuildUniqueListBenchmark {
+
+    public enum BuildMethod {
+        BUILD_FIRST_OCCURRENCE,
+        BUILD_ANY
+    }
+
+    private static Integer[] input(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer[] input = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            input[i] = random.nextInt(count / 2);
+        }
+        return input;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Reference {
+
+        @Param({"1000000", "10000000"})
+        int COUNT;
+
+        Integer[] input;
+
+        @Setup(Level.Trial)
+        public void setupTrial() {
+            input = input(COUNT);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Parallel {
+
+        @Param
+        BuildMethod implementationName;
+
+        @Param({"1", "2", "4", "8", "16"})
+        int WORKERS;
+
+        @Param({"1000000", "10000000"})
+        int COUNT;
+
+        Integer[] input;
+
+        @Setup(Level.Trial)
+        public void setupTrial() {
+            input = input(COUNT);
+        }
+    }
+
+    @Benchmark
+    public IUniqueList<Integer> addOneByOne(Reference s) {
+        IUniqueList<Integer> list = new AdaptiveUniqueList<>();
+        for (Integer e : s.input) {
+            list.add(e);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IUniqueList<Integer> buildFrom(Parallel s) {
+        switch (s.implementationName) {
+            case BUILD_FIRST_OCCURRENCE:
+                return UniqueLists.buildFrom(s.input, s.WORKERS, Ordering.FIRST_OCCURRENCE);
+            case BUILD_ANY:
+                return UniqueLists.buildFrom(s.input, s.WORKERS, Ordering.ANY);
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + s.implementationName);
+        }
+    }
+
+    @Test
+    public void testBulkBuildUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(BulkBuildUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/bulk-build-results.json")
+                .jvmArgs(
+                    "-Xms8G", "-Xmx8G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,221 @@
+package org.fedorov.uniq.lists;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fedorov.uniq.lists.impl.LongKeyUniqueList;
+import org.fedorov.uniq.lists.impl.Utf8StringUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Выгрузка COUNT элементов целиком: поэлементный экспорт по умолчанию (через get(i))
+// против пакетных exportKeys/exportBytes в массив, heap/direct ByteBuffer и FileChannel.
+// Параметры лежат в отдельных состояниях, поэтому каждый бенчмарк перебирает только свои
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1)
+public class ExportUniqueListBenchmark {
+
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    public enum ExportMethod {
+        PER_ELEMENT,
+        BULK
+    }
+
+    public enum Target {
+        ARRAY,
+        HEAP_BUFFER,
+        DIRECT_BUFFER,
+        FILE_CHANNEL
+    }
+
+    private static ByteBuffer allocate(Target target, long capacity) {
+        return target == Target.DIRECT_BUFFER ? ByteBuffer.allocateDirect(Math.toIntExact(capacity)) : ByteBuffer.allocate(Math.toIntExact(capacity));
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class LongKeys {
+
+        @Param
+        ExportMethod implementationName;
+
+        @Param
+        Target target;
+
+        @Param({"10000000"})
+        int COUNT;
+
+        LongKeyUniqueList<Long> list;
+        long[] array;
+        ByteBuffer buffer;
+        Path file;
+        FileChannel channel;
+
+        @Setup(Level.Trial)
+        public void setupTrial() throws IOException {
+            list = new LongKeyUniqueList<>(Long::longValue);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (list.size() < COUNT) {
+                list.add(random.nextLong());
+            }
+            array = new long[COUNT];
+            buffer = target == Target.HEAP_BUFFER || target == Target.DIRECT_BUFFER ? allocate(target, (long) COUNT * Long.BYTES) : null;
+            file = Files.createTempFile("export-keys", ".bin");
+            channel = open(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDownTrial() throws IOException {
+            channel.close();
+            Files.delete(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Utf8Strings {
+
+        @Param
+        ExportMethod implementationName;
+
+        // Для строк ARRAY совпадает с HEAP_BUFFER
+        @Param({"HEAP_BUFFER", "DIRECT_BUFFER", "FILE_CHANNEL"})
+        Target target;
+
+        @Param({"false", "true"})
+        boolean offHeap;
+
+        @Param({"10000000"})
+        int COUNT;
+
+        Utf8StringUniqueList list;
+        ByteBuffer buffer;
+        Path file;
+        FileChannel channel;
+
+        @Setup(Level.Trial)
+        public void setupTrial() throws IOException {
+            list = new Utf8StringUniqueList(Utf8StringUniqueList.DEFAULT_CHUNK_SIZE, offHeap);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < COUNT; i++) {
+                sb.setLength(0);
+                if (random.nextBoolean()) {
+                    sb.append("https://tenant-").append(random.nextInt(10_000)).append(".example.com/api/v1/items/").append(i);
+                } else {
+                    sb.append("tenant-").append(Long.toHexString(random.nextLong())).append('-').append(i);
+                }
+                list.add(sb);
+            }
+            buffer = target == Target.FILE_CHANNEL ? null : allocate(target, list.byteLength(0, COUNT));
+            file = Files.createTempFile("export-utf8", ".bin");
+            channel = open(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDownTrial() throws IOException {
+            channel.close();
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public long exportLongKeys(LongKeys s) throws IOException {
+        boolean bulk = s.implementationName == ExportMethod.BULK;
+        switch (s.target) {
+            case ARRAY:
+                if (bulk) {
+                    s.list.exportKeys(0, s.array, 0, s.COUNT);
+                } else {
+                    s.list.exportLongs(0, s.array, 0, s.COUNT, Long::longValue);
+                }
+                return s.array[s.COUNT - 1];
+            case HEAP_BUFFER:
+            case DIRECT_BUFFER:
+                s.buffer.clear();
+                if (bulk) {
+                    s.list.exportKeys(0, s.COUNT, s.buffer);
+                } else {
+                    s.list.exportTo(0, s.COUNT, s.buffer, (e, b) -> b.putLong(e));
+                }
+                return s.buffer.position();
+            case FILE_CHANNEL:
+                s.channel.position(0);
+                return bulk
+                    ? s.list.exportKeys(0, s.COUNT, s.channel)
+                    : s.list.exportTo(0, s.COUNT, s.channel, (e, b) -> b.putLong(e), CHANNEL_BUFFER_SIZE);
+            default:
+                throw new IllegalArgumentException("Unknown target: " + s.target);
+        }
+    }
+
+    @Benchmark
+    public long exportUtf8Bytes(Utf8Strings s) throws IOException {
+        boolean bulk = s.implementationName == ExportMethod.BULK;
+        switch (s.target) {
+            case HEAP_BUFFER:
+            case DIRECT_BUFFER:
+                s.buffer.clear();
+                if (bulk) {
+                    s.list.exportBytes(0, s.COUNT, s.buffer);
+                } else {
+                    s.list.exportTo(0, s.COUNT, s.buffer, (e, b) -> b.put(e.getBytes(StandardCharsets.UTF_8)));
+                }
+                return s.buffer.position();
+            case FILE_CHANNEL:
+                s.channel.position(0);
+                return bulk
+                    ? s.list.exportBytes(0, s.COUNT, s.channel)
+                    : s.list.exportTo(0, s.COUNT, s.channel, (e, b) -> b.put(e.getBytes(StandardCharsets.UTF_8)), CHANNEL_BUFFER_SIZE);
+            default:
+                throw new IllegalArgumentException("Unknown target: " + s.target);
+        }
+    }
+
+    @Test
+    public void testExportUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(ExportUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/export-results.json")
+                .jvmArgs(
+                    "-Xms8G", "-Xmx8G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -1,27 +1,50 @@
 package org.fedorov.uniq.lists;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
 import org.fedorov.uniq.lists.impl.AtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.CopyOnWriteUniqueList;
+import org.fedorov.uniq.lists.impl.LongKeyUniqueList;
+import org.fedorov.uniq.lists.impl.NearCachedUniqueList;
 import org.fedorov.uniq.lists.impl.NonValidVolatileLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedAtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedSuperValidVolatileLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedValidVolatileLockedUniqueList;
 import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
 import org.fedorov.uniq.lists.impl.SimpleNonUniqueList;
 import org.fedorov.uniq.lists.impl.SimpleUniqueList;
 import org.fedorov.uniq.lists.impl.SuperValidVolatileLockedUniqueList;
 import org.fedorov.uniq.lists.impl.SynchronizedMethodUniqueList;
+import org.fedorov.uniq.lists.impl.Utf8StringUniqueList;
 import org.fedorov.uniq.lists.impl.ValidReentrantLockedUniqueList;
 import org.fedorov.uniq.lists.impl.ValidVolatileLockedUniqueList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -40,6 +63,9 @@ public class IUniqueListJUnitTest {
           , arguments(AtomicBooleanLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
           , arguments( ReentrantLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
           , arguments( ValidReentrantLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
+          , arguments(PaddedAtomicBooleanLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
+          , arguments(PaddedValidVolatileLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
+          , arguments(PaddedSuperValidVolatileLockedUniqueList.class, true, 2, List.of("one", "two", "one"))
         );
     }
 
@@ -134,6 +160,20 @@ public class IUniqueListJUnitTest {
             assertTrue(expectedResult != list.size(), String.format("Size is not valid for implementation %s: actual %d, but expected %d", clazz.getName(), list.size(), expectedResult));
     }
 
+    @ParameterizedTest
+    @MethodSource("provideTestData")
+    <T> void testContainsAndIndexOfAfterAddInSingleThread(Class<T> clazz, boolean expectedSuccess, int  expectedResult, List<T> elements) throws Exception {
+        @SuppressWarnings("unchecked")
+        IUniqueList<T> list = (IUniqueList<T>) clazz.getDeclaredConstructor().newInstance();
+        for( T element : elements ) {
+            list.add(element);
+        }
+        for( T element : elements ) {
+            assertTrue(list.contains(element), String.format("Element %s is not found for implementation %s", element, clazz.getName()));
+            assertEquals(element, list.get(list.indexOf(element)), String.format("Index is not valid for implementation %s", clazz.getName()));
+        }
+    }
+
     public static Stream<Arguments> provideTestData2(){
         return Stream.of(
             arguments(SimpleNonUniqueList.class, false)
@@ -145,6 +185,9 @@ public class IUniqueListJUnitTest {
           , arguments(AtomicBooleanLockedUniqueList.class, true)
           , arguments(ReentrantLockedUniqueList.class, true)
           , arguments(ValidReentrantLockedUniqueList.class, true)
+          , arguments(PaddedAtomicBooleanLockedUniqueList.class, true)
+          , arguments(PaddedValidVolatileLockedUniqueList.class, true)
+          , arguments(PaddedSuperValidVolatileLockedUniqueList.class, true)
         );
     }
 
@@ -213,4 +256,563 @@ public class IUniqueListJUnitTest {
         else 
             assertTrue(100 != list.size(), String.format("Size is not valid for implementation %s: actual %d, but expected %d", clazz.getName(), list.size(), 100));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @MethodSource("provideTestData2")
+    void testIndexOfReturnsInsertionPosition(Class<IUniqueList<Integer>> clazz, boolean expectedSuccess) throws Exception {
+        @SuppressWarnings("unchecked")
+        final IUniqueList<Integer> list = (IUniqueList<Integer>) clazz.getDeclaredConstructor().newInstance();
+        for ( int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        for ( int i = 0; i < 100; i++) {
+            assertEquals(i, list.indexOf(i), String.format("Index is not valid for implementation %s", clazz.getName()));
+        }
+        assertEquals(-1, list.indexOf(100), String.format("Absent element is found for implementation %s", clazz.getName()));
+        assertTrue(!list.contains(100), String.format("Absent element is found for implementation %s", clazz.getName()));
+    }
+
+    // Реализации с собственным хранилищем: без конструктора от List
+    public static Stream<Arguments> provideTestData3(){
+        return Stream.of(
+            arguments(AdaptiveUniqueList.class)
+          , arguments(CopyOnWriteUniqueList.class)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideTestData3")
+    void testAddElementsIntoSelfContainedListInMultipleThreads(Class<IUniqueList<Integer>> clazz) throws Exception {
+        @SuppressWarnings("unchecked")
+        final IUniqueList<Integer> list = (IUniqueList<Integer>) clazz.getDeclaredConstructor().newInstance();
+
+        int threadCount = 16;
+        int elementCount = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(threadCount);
+
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            final int shift = i;
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for ( int j = 0; j < elementCount; j++) {
+                        int element = (j + shift * 37) % elementCount;
+                        list.add(element);
+                        if (!list.contains(element)) {
+                            throw new IllegalStateException("Element is not visible after add: " + element);
+                        }
+                    }
+                } catch (Exception e) {
+                    exceptions.add(e);
+                } finally {
+                    finishLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        finishLatch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertTrue(exceptions.isEmpty(),
+                    String.format("Some exceptions has been occurred during the test: %s",
+                        exceptions.stream()
+                            .map(e -> String.format("%s: %s", e.getClass().getSimpleName(), e.getMessage()))
+                            .collect(Collectors.joining("\n---\n"))));
+
+        assertEquals(elementCount, list.size(), String.format("Size is not valid for implementation %s", clazz.getName()));
+        for ( int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.indexOf(list.get(i)), String.format("Index is not valid for implementation %s", clazz.getName()));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideTestData3")
+    void testIndexOfInSelfContainedList(Class<IUniqueList<String>> clazz) throws Exception {
+        @SuppressWarnings("unchecked")
+        final IUniqueList<String> list = (IUniqueList<String>) clazz.getDeclaredConstructor().newInstance();
+        for( String element : List.of("one", "two", "one") ) {
+            list.add(element);
+        }
+        assertEquals(2, list.size(), String.format("Size is not valid for implementation %s", clazz.getName()));
+        assertEquals(1, list.indexOf("two"), String.format("Index is not valid for implementation %s", clazz.getName()));
+        assertEquals(-1, list.indexOf("three"), String.format("Absent element is found for implementation %s", clazz.getName()));
+    }
+
+    // Обход по get(i) по умолчанию, Spliterator-ы по массиву и по копии под блокировкой писателя
+    public static Stream<Arguments> provideStreamableLists(){
+        return Stream.of(
+            arguments("SynchronizedMethodUniqueList", (Supplier<IUniqueList<Integer>>) SynchronizedMethodUniqueList::new)
+          , arguments("ReentrantLockedUniqueList", (Supplier<IUniqueList<Integer>>) ReentrantLockedUniqueList::new)
+          , arguments("AtomicBooleanLockedUniqueList", (Supplier<IUniqueList<Integer>>) AtomicBooleanLockedUniqueList::new)
+          , arguments("SuperValidVolatileLockedUniqueList", (Supplier<IUniqueList<Integer>>) SuperValidVolatileLockedUniqueList::new)
+          , arguments("AdaptiveUniqueList", (Supplier<IUniqueList<Integer>>) AdaptiveUniqueList::new)
+          , arguments("CopyOnWriteUniqueList", (Supplier<IUniqueList<Integer>>) CopyOnWriteUniqueList::new)
+          , arguments("LongKeyUniqueList", (Supplier<IUniqueList<Integer>>) () -> new LongKeyUniqueList<>(Integer::longValue))
+          , arguments("NearCachedUniqueList", (Supplier<IUniqueList<Integer>>) () -> new NearCachedUniqueList<>(new AdaptiveUniqueList<>()))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideStreamableLists")
+    void testStreamTraversesListInOrder(String name, Supplier<IUniqueList<Integer>> factory) {
+        IUniqueList<Integer> list = factory.get();
+        for ( int i = 0; i < 10_000; i++) {
+            list.add(i % 5_000);
+        }
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertEquals(5_000, spliterator.getExactSizeIfKnown(), String.format("Size is not known for implementation %s", name));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SUBSIZED), String.format("Unexpected characteristics for implementation %s", name));
+        assertTrue(spliterator.trySplit() != null, String.format("Spliterator does not split for implementation %s", name));
+
+        assertEquals(Stream.iterate(0, i -> i + 1).limit(5_000).collect(Collectors.toList()),
+            list.stream().collect(Collectors.toList()), String.format("Order is not valid for implementation %s", name));
+        assertEquals(5_000L * 4_999 / 2, list.parallelStream().mapToLong(Integer::longValue).sum(), String.format("Sum is not valid for implementation %s", name));
+    }
+
+    // Spliterator по умолчанию не объявляет DISTINCT, иначе distinct() выбрасывается из конвейера
+    @Test
+    void testDistinctIsNotSkippedForNonUniqueList() {
+        IUniqueList<String> list = new SimpleNonUniqueList<>();
+        list.add("one");
+        list.add("two");
+        list.add("one");
+        assertTrue(!list.spliterator().hasCharacteristics(Spliterator.DISTINCT));
+        assertEquals(2, list.stream().distinct().count());
+        assertEquals(2, list.parallelStream().distinct().count());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideStreamableLists")
+    void testParallelStreamSeesConsistentPrefixWhileAdding(String name, Supplier<IUniqueList<Integer>> factory) throws Exception {
+        IUniqueList<Integer> list = factory.get();
+        int elementCount = 5_000;
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        Thread writer = new Thread(() -> {
+            for ( int i = 0; i < elementCount; i++) {
+                list.add(i);
+            }
+        });
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                // Элемент i лежит на позиции i, поэтому любой согласованный префикс длины n дает сумму n*(n-1)/2
+                Spliterator<Integer> spliterator = list.spliterator();
+                long n = spliterator.getExactSizeIfKnown();
+                long sum = StreamSupport.stream(spliterator, true).mapToLong(Integer::longValue).sum();
+                if (sum != n * (n - 1) / 2) {
+                    exceptions.add(new IllegalStateException("Inconsistent prefix of size " + n + ": sum " + sum));
+                    break;
+                }
+            }
+        } finally {
+            writer.join();
+        }
+        assertTrue(exceptions.isEmpty(), String.format("Traversal is not consistent for implementation %s: %s", name, exceptions));
+        assertEquals(elementCount, list.stream().count(), String.format("Size is not valid for implementation %s", name));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideStreamableLists")
+    void testExportMatchesIndexLoop(String name, Supplier<IUniqueList<Integer>> factory) throws Exception {
+        IUniqueList<Integer> list = factory.get();
+        for ( int i = 0; i < 10_000; i++) {
+            list.add(i * 3 % 5_000);
+        }
+        int from = 100;
+        int length = 4_000;
+        int[] ints = new int[length + 1];
+        long[] longs = new long[length];
+        ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES);
+        list.exportInts(from, ints, 1, length, Integer::intValue);
+        list.exportLongs(from, longs, 0, length, Integer::longValue);
+        list.exportTo(from, length, buffer, (e, b) -> b.putInt(e));
+        buffer.flip();
+        for ( int i = 0; i < length; i++) {
+            int expected = list.get(from + i);
+            assertEquals(expected, ints[i + 1], String.format("Int export is not valid for implementation %s", name));
+            assertEquals(expected, longs[i], String.format("Long export is not valid for implementation %s", name));
+            assertEquals(expected, buffer.getInt(), String.format("Buffer export is not valid for implementation %s", name));
+        }
+
+        Path file = Files.createTempFile("export", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                // Буфер на 10 элементов: проверяется сброс в канал посреди диапазона
+                assertEquals(length * Integer.BYTES, list.exportTo(from, length, channel, (e, b) -> b.putInt(e), 42));
+            }
+            ByteBuffer written = ByteBuffer.wrap(Files.readAllBytes(file));
+            for ( int i = 0; i < length; i++) {
+                assertEquals((int) list.get(from + i), written.getInt(), String.format("Channel export is not valid for implementation %s", name));
+            }
+        } finally {
+            Files.delete(file);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> list.exportLongs(4_000, longs, 0, 1_001, Integer::longValue));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideThresholds")
+    void testAdaptiveListMigratesToHashIndex(int threshold) {
+        AdaptiveUniqueList<Integer> list = new AdaptiveUniqueList<>(threshold);
+        for ( int i = 0; i < 100; i++) {
+            assertEquals(i > threshold, list.isIndexed(), String.format("Unexpected mode at size %d", i));
+            assertTrue(list.add(i));
+            assertTrue(!list.add(i));
+        }
+        for ( int i = 0; i < 100; i++) {
+            assertEquals(i, list.indexOf(i));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideThresholds")
+    void testAdaptiveListAddAllMarksFirstOccurrences(int threshold) throws Exception {
+        AdaptiveUniqueList<Integer> list = new AdaptiveUniqueList<>(threshold);
+        list.add(3);
+        List<Integer> batch = Arrays.asList(1, 2, 3, 2, null, 4, null, 1);
+        boolean[] added = new boolean[batch.size()];
+        assertEquals(4, list.addAll(batch, added));
+        assertArrayEquals(new boolean[] {true, true, false, false, true, true, false, false}, added);
+        assertEquals(Arrays.asList(3, 1, 2, null, 4), list.stream().collect(Collectors.toList()));
+
+        // Пересекающиеся пакеты из нескольких потоков: каждый ключ добавлен ровно один раз
+        int threads = 4;
+        int keys = 10_000;
+        AtomicInteger total = new AtomicInteger(list.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int shift = t * 1_000;
+                futures.add(executor.submit(() -> {
+                    for (int from = 0; from < keys; from += 500) {
+                        List<Integer> part = new ArrayList<>();
+                        for (int k = from; k < from + 500; k++) {
+                            part.add(5 + (k + shift) % keys);
+                        }
+                        total.addAndGet(list.addAll(part, new boolean[part.size()]));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(5 + keys, list.size());
+        assertEquals(list.size(), total.get());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.indexOf(list.get(i)));
+        }
+    }
+
+    public static Stream<Arguments> provideThresholds(){
+        return Stream.of(arguments(1), arguments(AdaptiveUniqueList.DEFAULT_THRESHOLD), arguments(64));
+    }
+
+    private static final class Event {
+        final long tenantId;
+        final long sequence;
+        final String payload;
+
+        Event(long tenantId, long sequence, String payload) {
+            this.tenantId = tenantId;
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        long businessKey() {
+            return tenantId << 40 | sequence;
+        }
+    }
+
+    @Test
+    void testLongKeyUniqueListDeduplicatesByExtractedKey() throws Exception {
+        LongKeyUniqueList<Event> list = new LongKeyUniqueList<>(Event::businessKey);
+        Event first = new Event(1, 1, "first");
+        assertTrue(list.add(first));
+        assertTrue(!list.add(new Event(1, 1, "same key, other payload")));
+        assertTrue(list.add(new Event(2, 1, "other tenant")));
+        assertEquals(2, list.size());
+        assertSame(first, list.get(0));
+        assertEquals(0, list.indexOf(new Event(1, 1, "lookup")));
+        assertEquals(1, list.indexOfKey(2L << 40 | 1));
+        assertTrue(!list.containsKey(3L << 40 | 1));
+
+        int threadCount = 16;
+        int elementCount = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final int shift = i;
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for ( int j = 0; j < elementCount; j++) {
+                        long sequence = (j + shift * 37) % elementCount;
+                        list.add(new Event(7, sequence, "payload"));
+                        if (!list.containsKey(7L << 40 | sequence)) {
+                            throw new IllegalStateException("Key is not visible after add: " + sequence);
+                        }
+                    }
+                } catch (Exception e) {
+                    exceptions.add(e);
+                }
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertTrue(exceptions.isEmpty(), String.format("Some exceptions has been occurred during the test: %s", exceptions));
+        assertEquals(2 + elementCount, list.size());
+        for ( int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.indexOfKey(list.getKey(i)));
+        }
+    }
+
+    @Test
+    void testLongKeyUniqueListExportsKeysInBulk() throws Exception {
+        LongKeyUniqueList<Event> list = new LongKeyUniqueList<>(Event::businessKey);
+        int elementCount = 50_000;
+        for ( int i = 0; i < elementCount; i++) {
+            list.add(new Event(i % 3, i, "payload"));
+        }
+        int from = 7;
+        int length = elementCount - 10;
+        long[] expected = new long[length];
+        for ( int i = 0; i < length; i++) {
+            expected[i] = list.getKey(from + i);
+        }
+
+        long[] keys = new long[length + 2];
+        list.exportKeys(from, keys, 2, length);
+        assertArrayEquals(expected, java.util.Arrays.copyOfRange(keys, 2, length + 2));
+
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(length * Long.BYTES + 3), ByteBuffer.allocateDirect(length * Long.BYTES + 3))) {
+            buffer.position(3);
+            list.exportKeys(from, length, buffer);
+            assertEquals(buffer.capacity(), buffer.position());
+            buffer.position(3);
+            long[] actual = new long[length];
+            buffer.asLongBuffer().get(actual);
+            assertArrayEquals(expected, actual, String.format("Buffer export is not valid, direct: %s", buffer.isDirect()));
+            buffer.position(4);
+            assertThrows(java.nio.BufferOverflowException.class, () -> list.exportKeys(from, length, buffer));
+        }
+
+        Path file = Files.createTempFile("keys", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                assertEquals((long) length * Long.BYTES, list.exportKeys(from, length, channel));
+            }
+            long[] actual = new long[length];
+            ByteBuffer.wrap(Files.readAllBytes(file)).asLongBuffer().get(actual);
+            assertArrayEquals(expected, actual);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public static Stream<Arguments> provideNearCachedDelegates(){
+        return Stream.of(
+            arguments(AtomicBooleanLockedUniqueList.class)
+          , arguments(ReentrantLockedUniqueList.class)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideNearCachedDelegates")
+    void testNearCachedListSkipsKnownDuplicates(Class<IUniqueList<Integer>> clazz) throws Exception {
+        @SuppressWarnings("unchecked")
+        final IUniqueList<Integer> shared = (IUniqueList<Integer>) clazz.getDeclaredConstructor().newInstance();
+        AtomicInteger delegated = new AtomicInteger();
+        IUniqueList<Integer> counting = new IUniqueList<Integer>() {
+            @Override
+            public boolean add(Integer e) {
+                delegated.incrementAndGet();
+                return shared.add(e);
+            }
+
+            @Override
+            public int size() {
+                return shared.size();
+            }
+
+            @Override
+            public Integer get(int index) {
+                return shared.get(index);
+            }
+        };
+        NearCachedUniqueList<Integer> list = new NearCachedUniqueList<>(counting, 16);
+
+        assertTrue(list.add(1));
+        assertTrue(!list.add(1));
+        assertTrue(!list.add(Integer.valueOf(1)));
+        assertEquals(1, delegated.get(), String.format("Known duplicate reached the shared list for implementation %s", clazz.getName()));
+        list.clearCache();
+        assertTrue(!list.add(1));
+        assertEquals(2, delegated.get(), String.format("Cache is not cleared for implementation %s", clazz.getName()));
+        assertTrue(list.contains(1));
+        assertTrue(!list.contains(2));
+
+        int threadCount = 8;
+        int elementCount = 200;
+        int before = delegated.get();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for ( int round = 0; round < 20; round++) {
+                        for ( int j = 0; j < elementCount; j++) {
+                            // Производитель повторяет только что отправленный ключ
+                            for ( int repeat = 0; repeat < 3; repeat++) {
+                                list.add(j);
+                            }
+                            if (!list.contains(j)) {
+                                throw new IllegalStateException("Element is not visible after add: " + j);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    exceptions.add(e);
+                }
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertTrue(exceptions.isEmpty(), String.format("Some exceptions has been occurred during the test: %s", exceptions));
+        assertEquals(elementCount, list.size(), String.format("Size is not valid for implementation %s", clazz.getName()));
+        // Два повтора подряд отсекаются кэшем: в общий список доходит не больше первого add()
+        // каждого ключа в раунде. Сколько ключей переживет раунд в 16 слотах, зависит от хэшей
+        int attempted = threadCount * 20 * elementCount * 3;
+        int sharedCalls = delegated.get() - before;
+        assertTrue(sharedCalls <= attempted / 3, String.format("Too many shared calls for implementation %s: %d of %d", clazz.getName(), sharedCalls, attempted));
+    }
+
+    public static Stream<Arguments> provideArenas(){
+        return Stream.of(
+            arguments(new Utf8StringUniqueList())
+          , arguments(new Utf8StringUniqueList(64, false))
+          , arguments(new Utf8StringUniqueList(64, true))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArenas")
+    void testUtf8StringUniqueListMatchesStringsCharSequencesAndBytes(Utf8StringUniqueList list) {
+        List<String> samples = List.of("", "tenant-42", "https://example.com/путь?q=1", "emoji \uD83D\uDE00", "x".repeat(200));
+        for( String sample : samples ) {
+            assertTrue(list.add(sample), String.format("Element %s is not added", sample));
+            assertTrue(!list.add(new StringBuilder(sample)), String.format("Duplicate CharSequence %s is added", sample));
+            byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+            assertTrue(!list.add(bytes, 0, bytes.length), String.format("Duplicate bytes %s are added", sample));
+        }
+        assertEquals(samples.size(), list.size());
+        for ( int i = 0; i < samples.size(); i++) {
+            assertEquals(samples.get(i), list.get(i));
+            assertEquals(i, list.indexOf(samples.get(i)));
+        }
+        assertEquals(-1, list.indexOf("tenant-43"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArenas")
+    void testUtf8StringUniqueListInMultipleThreads(Utf8StringUniqueList list) throws Exception {
+        int threadCount = 16;
+        int elementCount = 5_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final int shift = i;
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for ( int j = 0; j < elementCount; j++) {
+                        String element = "key-" + (j + shift * 37) % elementCount;
+                        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+                        if (j % 2 == 0) {
+                            list.add(element);
+                        } else {
+                            list.add(bytes, 0, bytes.length);
+                        }
+                        if (!list.contains(element)) {
+                            throw new IllegalStateException("Element is not visible after add: " + element);
+                        }
+                    }
+                } catch (Exception e) {
+                    exceptions.add(e);
+                }
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertTrue(exceptions.isEmpty(), String.format("Some exceptions has been occurred during the test: %s", exceptions));
+        assertEquals(elementCount, list.size());
+        for ( int i = 0; i < list.size(); i++) {
+            assertEquals(i, list.indexOf(list.get(i)));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideArenas")
+    void testUtf8StringUniqueListExportsBytesInBulk(Utf8StringUniqueList list) throws Exception {
+        // Строки разной длины, в том числе длиннее маленького чанка, чтобы участки рвались
+        for ( int i = 0; i < 2_000; i++) {
+            list.add(i % 100 == 0 ? "длинная-" + "x".repeat(100 + i / 10) : "key-" + i);
+        }
+        int from = 5;
+        int length = list.size() - 20;
+        java.io.ByteArrayOutputStream expectedBytes = new java.io.ByteArrayOutputStream();
+        int[] expectedLengths = new int[length];
+        for ( int i = 0; i < length; i++) {
+            byte[] bytes = list.get(from + i).getBytes(StandardCharsets.UTF_8);
+            expectedBytes.write(bytes, 0, bytes.length);
+            expectedLengths[i] = bytes.length;
+        }
+        byte[] expected = expectedBytes.toByteArray();
+
+        int[] lengths = new int[length];
+        list.exportLengths(from, lengths, 0, length);
+        assertArrayEquals(expectedLengths, lengths);
+        assertEquals(expected.length, list.byteLength(from, length));
+
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(expected.length), ByteBuffer.allocateDirect(expected.length))) {
+            list.exportBytes(from, length, buffer);
+            assertTrue(!buffer.hasRemaining());
+            byte[] actual = new byte[expected.length];
+            buffer.flip().get(actual);
+            assertArrayEquals(expected, actual, String.format("Buffer export is not valid, direct: %s", buffer.isDirect()));
+            buffer.position(1);
+            assertThrows(java.nio.BufferOverflowException.class, () -> list.exportBytes(from, length, buffer));
+        }
+
+        Path file = Files.createTempFile("utf8", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                assertEquals(expected.length, list.exportBytes(from, length, channel));
+            }
+            assertArrayEquals(expected, Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.fedorov.uniq.lists;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+// Матрица конфигураций JVM для бенчмарков: каждая комбинация запускается отдельным форком,
+// записи результата помечаются полем "jvmConfig", а все файлы сливаются в один JSON.
+// Оси задаются списками через запятую в системных свойствах, например:
+//   mvn test -Dtest=MultiThreadUniqueListBenchmark -Djvm.matrix.gc=G1,ZGC,Parallel -Djvm.matrix.heap=512M,4G
+//            -Djvm.matrix.compressedOops=true,false -Djvm.matrix.locking=legacy,lightweight -Djvm.matrix.cpus=2,8
+// Без свойств матрица состоит из одной прежней конфигурации (G1, 4G).
+public final class JvmConfigMatrix {
+
+    public record JvmConfig(String gc, String heap, String compressedOops, String locking, int cpus) {
+
+        public List<String> jvmArgs() {
+            List<String> args = new ArrayList<>();
+            args.add("-Xms" + heap);
+            args.add("-Xmx" + heap);
+            switch (gc.toUpperCase(Locale.ROOT)) {
+                case "G1":
+                    args.add("-XX:+UseG1GC");
+                    args.add("-XX:MaxGCPauseMillis=100");
+                    break;
+                case "ZGC":
+                    args.add("-XX:+UseZGC");
+                    break;
+                case "GENZGC":
+                    args.add("-XX:+UseZGC");
+                    args.add("-XX:+ZGenerational");
+                    break;
+                case "PARALLEL":
+                    args.add("-XX:+UseParallelGC");
+                    break;
+                case "SERIAL":
+                    args.add("-XX:+UseSerialGC");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown GC: " + gc);
+            }
+            if (!"default".equals(compressedOops)) {
+                args.add(Boolean.parseBoolean(compressedOops) ? "-XX:+UseCompressedOops" : "-XX:-UseCompressedOops");
+            }
+            // Biased locking удален в JDK 18; в JDK 21 выбирается режим облегченных блокировок
+            switch (locking) {
+                case "default":
+                    break;
+                case "legacy":
+                    args.add("-XX:+UnlockExperimentalVMOptions");
+                    args.add("-XX:LockingMode=1");
+                    break;
+                case "lightweight":
+                    args.add("-XX:+UnlockExperimentalVMOptions");
+                    args.add("-XX:LockingMode=2");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown locking mode: " + locking);
+            }
+            if (cpus > 0) {
+                args.add("-XX:ActiveProcessorCount=" + cpus);
+            }
+            args.add("-XX:+AlwaysPreTouch");
+            return args;
+        }
+
+        // Короткое имя для файлов и подписей графиков
+        public String name() {
+            StringBuilder sb = new StringBuilder(gc).append('-').append(heap);
+            if (!"default".equals(compressedOops)) {
+                sb.append(Boolean.parseBoolean(compressedOops) ? "-coops" : "-nocoops");
+            }
+            if (!"default".equals(locking)) {
+                sb.append('-').append(locking);
+            }
+            if (cpus > 0) {
+                sb.append("-cpus").append(cpus);
+            }
+            return sb.toString();
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                "{ \"name\" : \"%s\", \"gc\" : \"%s\", \"heap\" : \"%s\", \"compressedOops\" : \"%s\", \"lockingMode\" : \"%s\", \"activeProcessorCount\" : %d }",
+                name(), gc, heap, compressedOops, locking, cpus);
+        }
+    }
+
+    private final List<JvmConfig> configs;
+
+    public JvmConfigMatrix(List<JvmConfig> configs) {
+        if (configs.isEmpty()) {
+            throw new IllegalArgumentException("JVM configuration matrix is empty");
+        }
+        this.configs = List.copyOf(configs);
+    }
+
+    public static JvmConfigMatrix fromSystemProperties() {
+        List<JvmConfig> configs = new ArrayList<>();
+        for (String gc : axis("jvm.matrix.gc", "G1")) {
+            for (String heap : axis("jvm.matrix.heap", "4G")) {
+                for (String compressedOops : axis("jvm.matrix.compressedOops", "default")) {
+                    for (String locking : axis("jvm.matrix.locking", "default")) {
+                        for (String cpus : axis("jvm.matrix.cpus", "0")) {
+                            configs.add(new JvmConfig(gc, heap, compressedOops, locking, Integer.parseInt(cpus)));
+                        }
+                    }
+                }
+            }
+        }
+        return new JvmConfigMatrix(configs);
+    }
+
+    private static List<String> axis(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    public List<JvmConfig> getConfigs() {
+        return configs;
+    }
+
+    // Прогоняет бенчмарк в каждой конфигурации: results/<name>-<config>.json по конфигурациям
+    // и сводный results/<name>.json со всеми записями
+    public void run(ChainedOptionsBuilder options, Path resultsDir, String name) throws Exception {
+        List<String> tagged = new ArrayList<>();
+        for (JvmConfig config : configs) {
+            Path result = resultsDir.resolve(name + "-" + config.name() + ".json");
+            System.out.println("JVM configuration " + config.name() + ": " + String.join(" ", config.jvmArgs()));
+            new Runner(options.jvmArgs(config.jvmArgs().toArray(new String[0])).result(result.toString()).build()).run();
+            String json = tag(Files.readString(result, StandardCharsets.UTF_8), config);
+            Files.writeString(result, json, StandardCharsets.UTF_8);
+            tagged.add(json);
+        }
+        Files.writeString(resultsDir.resolve(name + ".json"), merge(tagged), StandardCharsets.UTF_8);
+    }
+
+    // JMH пишет каждую запись с полем "jmhVersion" первым - вставляем тег перед ним.
+    // Если формат JMH изменится и поля не будет, падаем, а не пишем записи без тега
+    static String tag(String json, JvmConfig config) {
+        String field = "\"jmhVersion\"";
+        if (json.indexOf('{') >= 0 && !json.contains(field)) {
+            throw new IllegalStateException("Unrecognized JMH result format: no " + field + " field to tag with " + config.name());
+        }
+        return json.replace(field, "\"jvmConfig\" : " + config.toJson() + ",\n        " + field);
+    }
+
+    static String merge(List<String> arrays) {
+        List<String> bodies = new ArrayList<>();
+        for (String array : arrays) {
+            String body = array.trim();
+            if (!body.startsWith("[") || !body.endsWith("]")) {
+                throw new IllegalStateException("Unrecognized JMH result format: not a JSON array");
+            }
+            body = body.substring(1, body.length() - 1).trim();
+            if (!body.isEmpty()) {
+                bodies.add(body);
+            }
+        }
+        return "[\n" + String.join(",\n", bodies) + "\n]\n";
+    }
+}
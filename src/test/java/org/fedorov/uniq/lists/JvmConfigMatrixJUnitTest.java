@@ -0,0 +1,180 @@
+package org.fedorov.uniq.lists;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fedorov.uniq.lists.JvmConfigMatrix.JvmConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+// tag()/merge() работают с текстом JMH, поэтому проверяются на реальном результате
+// (две записи из results/*.json) с разбором итогового JSON
+public class JvmConfigMatrixJUnitTest {
+
+    private static final JvmConfig G1 = new JvmConfig("G1", "4G", "default", "default", 0);
+    private static final JvmConfig ZGC = new JvmConfig("ZGC", "512M", "false", "legacy", 8);
+
+    private static String capturedResult() throws Exception {
+        try (InputStream in = JvmConfigMatrixJUnitTest.class.getResourceAsStream("jmh-result.json")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTaggedAndMergedResultsCarryTheirJvmConfig() throws Exception {
+        String json = capturedResult();
+        List<Object> original = (List<Object>) new JsonReader(json).read();
+
+        String merged = JvmConfigMatrix.merge(List.of(
+            JvmConfigMatrix.tag(json, G1), "[\n]\n", JvmConfigMatrix.tag(json, ZGC)));
+        List<Object> entries = (List<Object>) new JsonReader(merged).read();
+
+        assertEquals(2 * original.size(), entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Map<String, Object> entry = (Map<String, Object>) entries.get(i);
+            Map<String, Object> source = (Map<String, Object>) original.get(i % original.size());
+            JvmConfig expected = i < original.size() ? G1 : ZGC;
+
+            Map<String, Object> config = (Map<String, Object>) entry.get("jvmConfig");
+            assertEquals(expected.name(), config.get("name"));
+            assertEquals(expected.gc(), config.get("gc"));
+            assertEquals(expected.heap(), config.get("heap"));
+            assertEquals(expected.locking(), config.get("lockingMode"));
+            assertEquals((double) expected.cpus(), config.get("activeProcessorCount"));
+
+            // Остальные поля записи не тронуты
+            entry.remove("jvmConfig");
+            assertEquals(source, entry);
+        }
+    }
+
+    @Test
+    void testUnrecognizedFormatFailsLoudly() {
+        assertThrows(IllegalStateException.class, () -> JvmConfigMatrix.tag("[ { \"benchmark\" : \"x\" } ]", G1));
+        assertThrows(IllegalStateException.class, () -> JvmConfigMatrix.merge(List.of("{ \"benchmark\" : \"x\" }")));
+        assertEquals("[\n\n]\n", JvmConfigMatrix.merge(List.of(JvmConfigMatrix.tag("[]", G1))));
+    }
+
+    // Минимальный разбор JSON: объекты, массивы, строки, числа (как double), true/false/null
+    private static final class JsonReader {
+        private final String s;
+        private int pos;
+
+        JsonReader(String s) {
+            this.s = s;
+        }
+
+        Object read() {
+            Object value = value();
+            skipSpace();
+            assertTrue(pos == s.length(), "Trailing data at " + pos);
+            return value;
+        }
+
+        private Object value() {
+            skipSpace();
+            char c = s.charAt(pos);
+            switch (c) {
+                case '{': {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    pos++;
+                    if (peek() == '}') {
+                        pos++;
+                        return map;
+                    }
+                    do {
+                        skipSpace();
+                        String key = string();
+                        expect(':');
+                        map.put(key, value());
+                    } while (next() == ',');
+                    assertEquals('}', s.charAt(pos - 1), "Unterminated object at " + pos);
+                    return map;
+                }
+                case '[': {
+                    List<Object> list = new ArrayList<>();
+                    pos++;
+                    if (peek() == ']') {
+                        pos++;
+                        return list;
+                    }
+                    do {
+                        list.add(value());
+                    } while (next() == ',');
+                    assertEquals(']', s.charAt(pos - 1), "Unterminated array at " + pos);
+                    return list;
+                }
+                case '"':
+                    return string();
+                default: {
+                    int start = pos;
+                    while (pos < s.length() && ",}] \n\r\t".indexOf(s.charAt(pos)) < 0) {
+                        pos++;
+                    }
+                    String token = s.substring(start, pos);
+                    switch (token) {
+                        case "true":
+                            return Boolean.TRUE;
+                        case "false":
+                            return Boolean.FALSE;
+                        case "null":
+                            return null;
+                        default:
+                            return Double.parseDouble(token);
+                    }
+                }
+            }
+        }
+
+        private String string() {
+            assertEquals('"', s.charAt(pos), "String expected at " + pos);
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            char c;
+            while ((c = s.charAt(pos++)) != '"') {
+                if (c == '\\') {
+                    char e = s.charAt(pos++);
+                    switch (e) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u': sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16)); pos += 4; break;
+                        default: sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        private char peek() {
+            skipSpace();
+            return s.charAt(pos);
+        }
+
+        private char next() {
+            skipSpace();
+            return s.charAt(pos++);
+        }
+
+        private void expect(char c) {
+            assertEquals(c, next(), "Unexpected character at " + (pos - 1));
+        }
+
+        private void skipSpace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.fedorov.uniq.lists;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.LongKeyUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Дедупликация событий по составному бизнес-ключу:
+// обертка-ключ на каждый add() против LongKeyUniqueList с извлечением long-ключа
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(value = 1)
+public class KeyedUniqueListBenchmark {
+
+    public record Event(int tenantId, short eventType, long sequence, long timestamp, String source) {
+
+        // 20 бит арендатора, 8 бит типа, 36 бит номера
+        public long businessKey() {
+            return ((long) tenantId << 44) | ((long) (eventType & 0xFF) << 36) | (sequence & 0xF_FFFF_FFFFL);
+        }
+    }
+
+    // Так приходится дедуплицировать без стратегии: новый объект-ключ на каждое добавление
+    public record EventKey(int tenantId, short eventType, long sequence) {
+
+        public static EventKey of(Event e) {
+            return new EventKey(e.tenantId(), e.eventType(), e.sequence());
+        }
+    }
+
+    public enum ListImplementation {
+        WRAPPER_KEY,
+        LONG_KEY
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param({"1000", "100000"})
+    private int DISTINCT_EVENTS;
+
+    private Event[] events;
+    private IUniqueList<EventKey> wrapperList;
+    private LongKeyUniqueList<Event> longKeyList;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        events = new Event[DISTINCT_EVENTS];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new Event(random.nextInt(1 << 20), (short) random.nextInt(256), i,
+                System.currentTimeMillis(), "service-" + random.nextInt(16));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        wrapperList = new AdaptiveUniqueList<>();
+        longKeyList = new LongKeyUniqueList<>(Event::businessKey);
+    }
+
+    private void runBenchmark(Blackhole blackhole) {
+        Event event = events[ThreadLocalRandom.current().nextInt(events.length)];
+        if (implementationName == ListImplementation.WRAPPER_KEY) {
+            blackhole.consume(wrapperList.add(EventKey.of(event)));
+        } else {
+            blackhole.consume(longKeyList.add(event));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testWith1Thread(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testWith4Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void testWith16Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Test
+    public void testKeyedUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(KeyedUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/keyed-results.json")
+                .jvmArgs(
+                    "-Xms4G", "-Xmx4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -6,6 +6,9 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.fedorov.uniq.lists.impl.AtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedAtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedSuperValidVolatileLockedUniqueList;
+import org.fedorov.uniq.lists.impl.PaddedValidVolatileLockedUniqueList;
 import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
 import org.fedorov.uniq.lists.impl.SuperValidVolatileLockedUniqueList;
 import org.fedorov.uniq.lists.impl.SynchronizedMethodUniqueList;
@@ -30,9 +33,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
-import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
-import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 @State(Scope.Benchmark)
@@ -63,8 +64,27 @@ public class MultiThreadUniqueListBenchmark {
         }
     }
 
-    @Param
-    private ListImplementation implementationName;
+    // Только для testPaddingMultiThreadUniqueListBenchmark: в основной прогон не входят
+    public enum PaddedListImplementation {
+        PADDED_ATOMIC_BOOLEAN(PaddedAtomicBooleanLockedUniqueList.class.getName()),
+        PADDED_VALID_VOLATILE(PaddedValidVolatileLockedUniqueList.class.getName()),
+        PADDED_SUPER_VALID_VOLATILE(PaddedSuperValidVolatileLockedUniqueList.class.getName());
+
+        private final String className;
+
+        PaddedListImplementation(String className) {
+            this.className = className;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+    }
+
+    // Имя из ListImplementation или PaddedListImplementation; по умолчанию - все ListImplementation
+    @Param({"SYNCHRONIZED_METHOD", "SYNCHRONIZED_SECTION", "ATOMIC_BOOLEAN", "VALID_VOLATILE",
+            "SUPER_VALID_VOLATILE", "REENTRANT_LOCK", "VALID_REENTRANT_LOCK"})
+    private String implementationName;
     
     @Param({"10"})
     private int LIST_SIZE;
@@ -75,7 +95,7 @@ public class MultiThreadUniqueListBenchmark {
     
     @Setup(Level.Iteration)
     public void setupIteration() throws Exception {
-        Class<?> clazz = Class.forName(implementationName.getClassName());
+        Class<?> clazz = Class.forName(className(implementationName));
         Constructor<?> constructor = clazz.getDeclaredConstructor();
         
         @SuppressWarnings("unchecked")
@@ -84,6 +104,15 @@ public class MultiThreadUniqueListBenchmark {
         errors.clear();
     }
     
+    private static String className(String name) {
+        for (PaddedListImplementation padded : PaddedListImplementation.values()) {
+            if (padded.name().equals(name)) {
+                return padded.getClassName();
+            }
+        }
+        return ListImplementation.valueOf(name).getClassName();
+    }
+
     @TearDown(Level.Iteration)
     public void tearDownIteration(Blackhole blackhole) {
         if (!errors.isEmpty()) {
@@ -178,15 +207,10 @@ public class MultiThreadUniqueListBenchmark {
             java.nio.file.Files.createDirectories(jfrPath);
         }
 
+        // Конфигурации JVM задаются свойствами -Djvm.matrix.* (см. JvmConfigMatrix)
         ChainedOptionsBuilder optBuilder = new OptionsBuilder()
                 .include(MultiThreadUniqueListBenchmark.class.getSimpleName())
                 .resultFormat(ResultFormatType.JSON)
-                .jvmArgs(
-                    "-Xms4G", "-Xmx4G",
-                    "-XX:+UseG1GC",
-                    "-XX:MaxGCPauseMillis=100",
-                    "-XX:+AlwaysPreTouch"
-                )
                 .addProfiler(GCProfiler.class);
         
         // Проверяем, что директория создана и доступна для записи
@@ -196,11 +220,24 @@ public class MultiThreadUniqueListBenchmark {
             String tempDir = System.getProperty("java.io.tmpdir");
             System.out.println("Using temp directory instead: " + tempDir);
             
-            optBuilder.result(tempDir + "/jmh-results.json");
+            JvmConfigMatrix.fromSystemProperties().run(optBuilder, java.nio.file.Paths.get(tempDir), "jmh-results");
         } else {
-            optBuilder.result("./results/multithread-results.json");
+            JvmConfigMatrix.fromSystemProperties().run(optBuilder, resultsPath, "multithread-results");
         }
-        Options opt = optBuilder.build();
-        new Runner(opt).run();
     }
-}
\ No newline at end of file
+
+    // Та же нагрузка, только спин-блокировки парами: без padding и с флагом на отдельной кэш-линии
+    @Test
+    public void testPaddingMultiThreadUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        ChainedOptionsBuilder optBuilder = new OptionsBuilder()
+                .include(MultiThreadUniqueListBenchmark.class.getSimpleName())
+                .param("implementationName",
+                    ListImplementation.ATOMIC_BOOLEAN.name(), PaddedListImplementation.PADDED_ATOMIC_BOOLEAN.name(),
+                    ListImplementation.VALID_VOLATILE.name(), PaddedListImplementation.PADDED_VALID_VOLATILE.name(),
+                    ListImplementation.SUPER_VALID_VOLATILE.name(), PaddedListImplementation.PADDED_SUPER_VALID_VOLATILE.name())
+                .resultFormat(ResultFormatType.JSON);
+        JvmConfigMatrix.fromSystemProperties().run(optBuilder, java.nio.file.Paths.get("./results"), "padding-results");
+    }
+}
@@ -0,0 +1,129 @@
+package org.fedorov.uniq.lists;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.fedorov.uniq.lists.impl.AtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.NearCachedUniqueList;
+import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Производители, которые повторяют свои недавние ключи: с вероятностью DUPLICATE_RATIO
+// поток снова добавляет один из HOT_KEYS своих последних ключей, иначе - случайный из KEY_SPACE.
+// Сравнение общих списков с потоковым near-кэшем перед ними и без него
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(value = 1)
+public class NearCachedUniqueListBenchmark {
+
+    private static final int HOT_KEYS = 8;
+
+    public enum ListImplementation {
+        ATOMIC_BOOLEAN(AtomicBooleanLockedUniqueList::new),
+        ATOMIC_BOOLEAN_NEAR_CACHED(() -> new NearCachedUniqueList<>(new AtomicBooleanLockedUniqueList<>())),
+        REENTRANT_LOCK(ReentrantLockedUniqueList::new),
+        REENTRANT_LOCK_NEAR_CACHED(() -> new NearCachedUniqueList<>(new ReentrantLockedUniqueList<>()));
+
+        private final Supplier<IUniqueList<Integer>> factory;
+
+        ListImplementation(Supplier<IUniqueList<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        public IUniqueList<Integer> create() {
+            return factory.get();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerKeys {
+        final int[] hot = new int[HOT_KEYS];
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param({"0.5", "0.9", "0.99"})
+    private double DUPLICATE_RATIO;
+
+    @Param({"1000"})
+    private int KEY_SPACE;
+
+    private IUniqueList<Integer> list;
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        list = implementationName.create();
+    }
+
+    private void runBenchmark(ProducerKeys keys, Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(HOT_KEYS);
+        int key;
+        if (random.nextDouble() < DUPLICATE_RATIO) {
+            key = keys.hot[slot];
+        } else {
+            key = random.nextInt(KEY_SPACE);
+            keys.hot[slot] = key;
+        }
+        blackhole.consume(list.add(key));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testWith1Thread(ProducerKeys keys, Blackhole blackhole) {
+        runBenchmark(keys, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testWith4Threads(ProducerKeys keys, Blackhole blackhole) {
+        runBenchmark(keys, blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void testWith16Threads(ProducerKeys keys, Blackhole blackhole) {
+        runBenchmark(keys, blackhole);
+    }
+
+    @Test
+    public void testNearCachedUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(NearCachedUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/near-cache-results.json")
+                .jvmArgs(
+                    "-Xms4G", "-Xmx4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,171 @@
+package org.fedorov.uniq.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.AtomicBooleanLockedUniqueList;
+import org.fedorov.uniq.lists.impl.CopyOnWriteUniqueList;
+import org.fedorov.uniq.lists.impl.SynchronizedMethodUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Смешанная нагрузка: доля READ_RATIO операций - чтения (contains + get),
+// остальные - добавление нового ключа, то есть каждая запись настоящая.
+// Чтобы размер оставался в [LIST_SIZE, 2 * LIST_SIZE], записи идут в поколения:
+// заранее заполненные до LIST_SIZE списки, каждый из которых получает ровно
+// LIST_SIZE новых ключей, после чего писатели и читатели переходят к следующему.
+// Поколения строятся перед итерацией, вне замера; итерации короткие, чтобы их хватало.
+// Число использованных поколений и размер последнего печатаются в конце итерации
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 20, time = 1)
+@Fork(value = 1)
+public class ReadMostlyUniqueListBenchmark {
+
+    public enum ListImplementation {
+        SYNCHRONIZED_METHOD(range -> new SynchronizedMethodUniqueList<>(new ArrayList<>(range))),
+        ATOMIC_BOOLEAN(range -> new AtomicBooleanLockedUniqueList<>(new ArrayList<>(range))),
+        ADAPTIVE(range -> {
+            IUniqueList<Integer> list = new AdaptiveUniqueList<>();
+            for (Integer e : range) {
+                list.add(e);
+            }
+            return list;
+        }),
+        COPY_ON_WRITE(range -> {
+            IUniqueList<Integer> list = new CopyOnWriteUniqueList<>();
+            list.addAll(range, new boolean[range.size()]);
+            return list;
+        });
+
+        private final Function<List<Integer>, IUniqueList<Integer>> factory;
+
+        ListImplementation(Function<List<Integer>, IUniqueList<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        public IUniqueList<Integer> create(List<Integer> range) {
+            return factory.apply(range);
+        }
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param({"0.9", "0.99", "0.999", "0.9999"})
+    private double READ_RATIO;
+
+    @Param({"1000"})
+    private int LIST_SIZE;
+
+    // Поколений должно хватить на итерацию: при 10% записей ADAPTIVE успевает
+    // около 800 поколений по 1000 ключей за секунду на 4 потоках
+    @Param({"2048"})
+    private int GENERATIONS;
+
+    private IUniqueList<Integer>[] lists;
+    private volatile int generation;
+    private final AtomicInteger written = new AtomicInteger();
+
+    @Setup(Level.Iteration)
+    @SuppressWarnings("unchecked")
+    public void setupIteration() {
+        List<Integer> range = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            range.add(i);
+        }
+        lists = new IUniqueList[GENERATIONS];
+        for (int g = 0; g < GENERATIONS; g++) {
+            lists[g] = implementationName.create(range);
+        }
+        generation = 0;
+        written.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        int last = Math.min(written.get() / LIST_SIZE, GENERATIONS - 1);
+        System.out.printf("%n%s/%s: generations=%d, size=%d%n",
+            implementationName, READ_RATIO, last + 1, lists[last].size());
+        lists = null;
+    }
+
+    private void runBenchmark(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < READ_RATIO) {
+            IUniqueList<Integer> list = lists[generation];
+            blackhole.consume(list.contains(random.nextInt(LIST_SIZE)));
+            blackhole.consume(list.get(random.nextInt(LIST_SIZE)));
+        } else {
+            // Ключ LIST_SIZE + k новый для любого поколения. Если поколения кончились,
+            // последнее растет дальше - это будет видно по размеру в конце итерации
+            int k = written.getAndIncrement();
+            int g = Math.min(k / LIST_SIZE, GENERATIONS - 1);
+            if (g > generation) {
+                generation = g;
+            }
+            blackhole.consume(lists[g].add(LIST_SIZE + k));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testWith4Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void testWith16Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void testWith64Threads(Blackhole blackhole) {
+        runBenchmark(blackhole);
+    }
+
+    @Test
+    public void testReadMostlyUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(ReadMostlyUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/read-mostly-results.json")
+                .jvmArgs(
+                    "-Xms4G", "-Xmx4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
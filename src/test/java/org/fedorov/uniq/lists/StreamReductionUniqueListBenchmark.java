@@ -0,0 +1,190 @@
+package org.fedorov.uniq.lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.LongKeyUniqueList;
+import org.fedorov.uniq.lists.impl.ReentrantLockedUniqueList;
+import org.fedorov.uniq.lists.impl.SuperValidVolatileLockedUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Агрегация по списку из LIST_SIZE элементов, пока писатель продолжает добавлять:
+// ручной цикл по get(i) против stream() и parallelStream().
+// Писатель добавляет не больше FRESH_KEYS новых ключей за итерацию, дальше повторяет
+// существующие, поэтому размер списка остается около LIST_SIZE
+@State(Scope.Group)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(value = 1)
+public class StreamReductionUniqueListBenchmark {
+
+    public enum ListImplementation {
+        // Spliterator по умолчанию: обход через get(i)
+        DEFAULT_SPLITERATOR(size -> fill(() -> {
+            IUniqueList<Integer> delegate = new AdaptiveUniqueList<>();
+            return new IUniqueList<Integer>() {
+                @Override
+                public boolean add(Integer e) {
+                    return delegate.add(e);
+                }
+
+                @Override
+                public int size() {
+                    return delegate.size();
+                }
+
+                @Override
+                public Integer get(int index) {
+                    return delegate.get(index);
+                }
+
+                @Override
+                public boolean contains(Integer e) {
+                    return delegate.contains(e);
+                }
+            };
+        }, size)),
+        ADAPTIVE(size -> fill(AdaptiveUniqueList::new, size)),
+        LONG_KEY(size -> fill(() -> new LongKeyUniqueList<>(Integer::longValue), size)),
+        // Списки на ArrayList: add() сканирует список линейно, поэтому они заполняются
+        // через конструктор, а обход копирует весь список под блокировкой писателя
+        REENTRANT_LOCK(size -> new ReentrantLockedUniqueList<>(range(size))),
+        SUPER_VALID_VOLATILE(size -> new SuperValidVolatileLockedUniqueList<>(range(size)));
+
+        private final IntFunction<IUniqueList<Integer>> factory;
+
+        ListImplementation(IntFunction<IUniqueList<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        public IUniqueList<Integer> create(int size) {
+            return factory.apply(size);
+        }
+
+        private static IUniqueList<Integer> fill(Supplier<IUniqueList<Integer>> factory, int size) {
+            IUniqueList<Integer> list = factory.get();
+            for (int i = 0; i < size; i++) {
+                list.add(i);
+            }
+            return list;
+        }
+
+        private static List<Integer> range(int size) {
+            List<Integer> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(i);
+            }
+            return list;
+        }
+    }
+
+    public enum Traversal {
+        INDEX_LOOP,
+        SEQUENTIAL_STREAM,
+        PARALLEL_STREAM
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param
+    private Traversal traversal;
+
+    @Param({"10000000"})
+    private int LIST_SIZE;
+
+    @Param({"100000"})
+    private int FRESH_KEYS;
+
+    private IUniqueList<Integer> list;
+    private int nextElement;
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        list = implementationName.create(LIST_SIZE);
+        nextElement = LIST_SIZE;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        System.out.printf("%n%s/%s: size=%d%n", implementationName, traversal, list.size());
+        list = null;
+    }
+
+    @Benchmark
+    @Group("reduceWhileAdding")
+    @GroupThreads(1)
+    public long reduce() {
+        switch (traversal) {
+            case INDEX_LOOP: {
+                long sum = 0;
+                int n = list.size();
+                for (int i = 0; i < n; i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            }
+            case SEQUENTIAL_STREAM:
+                return list.stream().mapToLong(Integer::longValue).sum();
+            case PARALLEL_STREAM:
+                return list.parallelStream().mapToLong(Integer::longValue).sum();
+            default:
+                throw new IllegalArgumentException("Unknown traversal: " + traversal);
+        }
+    }
+
+    // Писатель в группе один, поэтому nextElement не требует синхронизации
+    @Benchmark
+    @Group("reduceWhileAdding")
+    @GroupThreads(1)
+    public boolean add() {
+        if (nextElement < LIST_SIZE + FRESH_KEYS) {
+            return list.add(nextElement++);
+        }
+        return list.add(ThreadLocalRandom.current().nextInt(LIST_SIZE));
+    }
+
+    @Test
+    public void testStreamReductionUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(StreamReductionUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/stream-reduction-results.json")
+                .jvmArgs(
+                    "-Xms8G", "-Xmx8G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
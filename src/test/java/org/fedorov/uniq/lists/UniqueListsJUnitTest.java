@@ -0,0 +1,133 @@
+package org.fedorov.uniq.lists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.fedorov.uniq.lists.UniqueLists.Implementation;
+import org.fedorov.uniq.lists.UniqueLists.Ordering;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class UniqueListsJUnitTest {
+
+    public static Stream<Arguments> provideHints(){
+        return Stream.of(
+            arguments(UniqueListHints.builder().expectedSize(10).writerThreads(1).build(), Implementation.SYNCHRONIZED_METHOD)
+          , arguments(UniqueListHints.builder().expectedSize(10).writerThreads(16).build(), Implementation.SUPER_VALID_VOLATILE)
+          // Читателей мало для copy-on-write, но они есть: списки на ArrayList читают без блокировки
+          , arguments(UniqueListHints.builder().expectedSize(10).writerThreads(1).readerThreads(4).build(), Implementation.ADAPTIVE)
+          , arguments(UniqueListHints.builder().expectedSize(100_000).writerThreads(16).build(), Implementation.ADAPTIVE)
+          , arguments(UniqueListHints.builder().expectedSize(100_000).writerThreads(2).readerThreads(64).build(), Implementation.COPY_ON_WRITE)
+          , arguments(UniqueListHints.builder().expectedSize(100_000).writerThreads(16).readerThreads(16).duplicateRatio(0.99).build(), Implementation.COPY_ON_WRITE)
+          , arguments(UniqueListHints.builder().expectedSize(10_000_000).writerThreads(4).elementType(String.class).build(), Implementation.UTF8_STRING)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideHints")
+    void testChooseImplementationByHints(UniqueListHints hints, Implementation expected) {
+        assertEquals(expected, UniqueLists.choose(hints), String.format("Unexpected choice for %s", hints));
+    }
+
+    @Test
+    void testCreatedListIsUnique() {
+        IUniqueList<String> list = UniqueLists.create(UniqueListHints.builder().expectedSize(1000).elementType(String.class).build());
+        list.add("one");
+        list.add("two");
+        list.add("one");
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    void testCalibrationCachesWinner() {
+        UniqueListHints hints = UniqueListHints.builder().expectedSize(64).writerThreads(2).readerThreads(2).duplicateRatio(0.9).calibrate(true).build();
+        Implementation winner = UniqueLists.calibrate(hints);
+        assertNotNull(winner);
+        assertTrue(winner.supportsConcurrentReads(), String.format("Racy reads in %s", winner));
+        assertSame(winner, UniqueLists.calibrate(hints));
+        // calibrate не входит в ключ кэша: те же подсказки без флага видят того же победителя
+        assertSame(winner, UniqueLists.calibrate(UniqueListHints.builder().expectedSize(64).writerThreads(2).readerThreads(2).duplicateRatio(0.9).build()));
+
+        IUniqueList<Integer> list = UniqueLists.create(hints);
+        assertTrue(list.add(1));
+        assertTrue(!list.add(1));
+    }
+
+    @Test
+    void testCalibrationSkipsCandidatesNotSupportingElementType() {
+        UniqueListHints hints = UniqueListHints.builder().expectedSize(128).writerThreads(2).elementType(Integer.class).build();
+        assertTrue(UniqueLists.calibrate(hints) != Implementation.UTF8_STRING);
+        UniqueListHints strings = UniqueListHints.builder().expectedSize(128).writerThreads(2).elementType(String.class).build();
+        IUniqueList<String> list = UniqueLists.create(UniqueListHints.builder().expectedSize(128).writerThreads(2).elementType(String.class).calibrate(true).build());
+        assertNotNull(UniqueLists.calibrate(strings));
+        assertTrue(list.add("one"));
+        assertTrue(!list.add("one"));
+    }
+
+    // Вход с повторами и null; size > порога, чтобы построился индекс
+    private static Integer[] bulkInput(int n) {
+        Random random = new Random(n);
+        Integer[] input = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            input[i] = random.nextInt(10) == 0 ? null : random.nextInt(n / 3 + 1);
+        }
+        return input;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 8})
+    void testBuildFromKeepsFirstOccurrenceOrder(int parallelism) {
+        for (int n : new int[] {0, 1, 20, 100_000}) {
+            Integer[] input = bulkInput(n);
+            List<Integer> expected = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(input)));
+            IUniqueList<Integer> list = UniqueLists.buildFrom(input, parallelism);
+            assertEquals(expected.size(), list.size(), String.format("Unexpected size for n=%d", n));
+            for (int i = 0; i < list.size(); i++) {
+                Integer e = list.get(i);
+                assertEquals(expected.get(i), e, String.format("Unexpected element at %d for n=%d", i, n));
+                assertEquals(i, list.indexOf(e));
+            }
+            // Построенный список остается обычным IUniqueList
+            if (n > 0) {
+                assertTrue(!list.add(input[0]));
+            }
+            assertTrue(list.add(-42));
+            assertEquals(list.size() - 1, list.indexOf(-42));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void testBuildFromStreamAndSpliteratorWithAnyOrdering(int parallelism) {
+        Integer[] input = bulkInput(50_000);
+        Set<Integer> expected = new HashSet<>(Arrays.asList(input));
+
+        IUniqueList<Integer> fromStream = UniqueLists.buildFrom(Arrays.stream(input).parallel(), parallelism, Ordering.ANY);
+        IUniqueList<Integer> fromSpliterator = UniqueLists.buildFrom(Arrays.spliterator(input), parallelism, Ordering.FIRST_OCCURRENCE);
+        for (IUniqueList<Integer> list : List.of(fromStream, fromSpliterator)) {
+            assertEquals(expected.size(), list.size());
+            Set<Integer> actual = new HashSet<>();
+            IntStream.range(0, list.size()).forEach(i -> actual.add(list.get(i)));
+            assertEquals(expected, actual);
+            for (Integer e : expected) {
+                assertSame(e, list.get(list.indexOf(e)));
+            }
+        }
+        assertEquals(UniqueLists.buildFrom(input, 1).get(0), fromSpliterator.get(0));
+    }
+}
@@ -0,0 +1,164 @@
+package org.fedorov.uniq.lists;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.Utf8StringUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Построение списка из COUNT коротких строк (URL, идентификаторы арендаторов),
+// пришедших как UTF-8 байты: время, аллокации (GCProfiler) и удерживаемая память
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SingleShotTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+public class Utf8StringUniqueListBenchmark {
+
+    public enum ListImplementation {
+        // Только хранилище ArrayList-списков (SimpleUniqueList и наследники): строки в ArrayList
+        // без проверки уникальности - вход уникален по построению, а линейный contains()
+        // сделал бы построение 10^6 элементов квадратичным. Сравнимо только по памяти
+        ARRAY_LIST,
+        // Уникальный List<String> с индексом на ConcurrentHashMap
+        STRING_LIST,
+        UTF8_HEAP,
+        UTF8_OFF_HEAP
+    }
+
+    @Param
+    private ListImplementation implementationName;
+
+    @Param({"1000000", "10000000"})
+    private int COUNT;
+
+    // Входные данные как из сети: строки подряд в одном буфере
+    private byte[] input;
+    private int[] offsets;
+    private Object list;
+    private int size;
+    // Куча после сборки с одними входными данными: вычитается из удерживаемой памяти
+    private long baseline;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder();
+        offsets = new int[COUNT + 1];
+        java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+        for (int i = 0; i < COUNT; i++) {
+            sb.setLength(0);
+            if (random.nextBoolean()) {
+                sb.append("https://tenant-").append(random.nextInt(10_000)).append(".example.com/api/v1/items/").append(i);
+            } else {
+                sb.append("tenant-").append(Long.toHexString(random.nextLong())).append('-').append(i);
+            }
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            out.write(bytes, 0, bytes.length);
+            offsets[i + 1] = offsets[i] + bytes.length;
+        }
+        input = out.toByteArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        System.gc();
+        baseline = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Object testBuild() {
+        switch (implementationName) {
+            case ARRAY_LIST: {
+                List<String> strings = new ArrayList<>();
+                for (int i = 0; i < COUNT; i++) {
+                    strings.add(new String(input, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8));
+                }
+                list = strings;
+                size = strings.size();
+                break;
+            }
+            case STRING_LIST: {
+                IUniqueList<String> strings = new AdaptiveUniqueList<>();
+                for (int i = 0; i < COUNT; i++) {
+                    strings.add(new String(input, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8));
+                }
+                list = strings;
+                size = strings.size();
+                break;
+            }
+            case UTF8_HEAP:
+            case UTF8_OFF_HEAP: {
+                Utf8StringUniqueList utf8 = new Utf8StringUniqueList(Utf8StringUniqueList.DEFAULT_CHUNK_SIZE,
+                    implementationName == ListImplementation.UTF8_OFF_HEAP);
+                for (int i = 0; i < COUNT; i++) {
+                    utf8.add(input, offsets[i], offsets[i + 1] - offsets[i]);
+                }
+                list = utf8;
+                size = utf8.size();
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementationName);
+        }
+        return list;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        // Удерживаемая память: прирост кучи после полной сборки, пока список еще жив,
+        // за вычетом входных данных. Off-heap арены видны в direct memory, а не в куче
+        System.gc();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long arena = list instanceof Utf8StringUniqueList && ((Utf8StringUniqueList) list).isOffHeap()
+            ? ((Utf8StringUniqueList) list).arenaCapacity() : 0;
+        System.out.printf("%n%s: size=%d, retained heap=%d MB, off-heap arena=%d MB%n",
+            implementationName, size, (heap.getUsed() - baseline) >> 20, arena >> 20);
+        list = null;
+    }
+
+    @Test
+    public void testUtf8StringUniqueListBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(Utf8StringUniqueListBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/utf8-string-results.json")
+                .jvmArgs(
+                    "-Xms8G", "-Xmx8G",
+                    "-XX:MaxDirectMemorySize=4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,66 @@
+package org.fedorov.uniq.lists.flow;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Синхронный издатель поверх массива с учетом запрошенного спроса
+public class ArrayPublisher<T> implements Flow.Publisher<T> {
+
+    private final T[] items;
+
+    public ArrayPublisher(T[] items) {
+        this.items = items;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            private final AtomicLong requested = new AtomicLong();
+            private final AtomicInteger wip = new AtomicInteger();
+            private int index;
+            private volatile boolean cancelled;
+
+            @Override
+            public void request(long n) {
+                requested.accumulateAndGet(n, (current, delta) -> {
+                    long sum = current + delta;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+                // Повторный вход из onNext только увеличивает спрос, цикл остается один
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+                int missed = 1;
+                for (;;) {
+                    long r = requested.get();
+                    long emitted = 0;
+                    while (emitted != r && index < items.length && !cancelled) {
+                        subscriber.onNext(items[index++]);
+                        emitted++;
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    if (index == items.length) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (emitted != 0) {
+                        requested.addAndGet(-emitted);
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        break;
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        });
+    }
+}
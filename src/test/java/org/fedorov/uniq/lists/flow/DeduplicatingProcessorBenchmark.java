@@ -0,0 +1,137 @@
+package org.fedorov.uniq.lists.flow;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Время прогона потока из STREAM_SIZE элементов через оператор дедупликации
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1)
+public class DeduplicatingProcessorBenchmark {
+
+    public enum ProcessorImplementation {
+        ADAPTIVE,
+        PARALLEL
+    }
+
+    @Param
+    private ProcessorImplementation implementationName;
+
+    @Param({"1000000"})
+    private int STREAM_SIZE;
+
+    @Param({"1000", "100000"})
+    private int DISTINCT_KEYS;
+
+    @Param({"16", "256", "4096", "8192"})
+    private int BATCH_SIZE;
+
+    // Сколько запрашивает потребитель за раз
+    @Param({"1024"})
+    private int DOWNSTREAM_REQUEST;
+
+    private Integer[] items;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        items = new Integer[STREAM_SIZE];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < items.length; i++) {
+            items[i] = random.nextInt(DISTINCT_KEYS);
+        }
+    }
+
+    private DeduplicatingProcessor<Integer> createProcessor() {
+        switch (implementationName) {
+            case ADAPTIVE:
+                return new DeduplicatingProcessor<>(new AdaptiveUniqueList<>(), BATCH_SIZE);
+            case PARALLEL:
+                return new ParallelDeduplicatingProcessor<>(AdaptiveUniqueList::new,
+                    ForkJoinPool.commonPool().getParallelism(), BATCH_SIZE, ForkJoinPool.commonPool());
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementationName);
+        }
+    }
+
+    @Benchmark
+    public long testDeduplicateStream(Blackhole blackhole) {
+        DeduplicatingProcessor<Integer> processor = createProcessor();
+        long[] received = new long[1];
+        processor.subscribe(new Flow.Subscriber<Integer>() {
+            private Flow.Subscription subscription;
+            private long remaining;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                remaining = DOWNSTREAM_REQUEST;
+                subscription.request(DOWNSTREAM_REQUEST);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                blackhole.consume(item);
+                received[0]++;
+                if (--remaining == 0) {
+                    remaining = DOWNSTREAM_REQUEST;
+                    subscription.request(DOWNSTREAM_REQUEST);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        // Издатель синхронный: к возврату из subscribe поток уже полностью обработан
+        new ArrayPublisher<>(items).subscribe(processor);
+        return received[0];
+    }
+
+    @Test
+    public void testDeduplicatingProcessorBenchmark() throws Exception {
+        java.nio.file.Files.createDirectories(java.nio.file.Paths.get("./results"));
+
+        Options opt = new OptionsBuilder()
+                .include(DeduplicatingProcessorBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("./results/processor-results.json")
+                .jvmArgs(
+                    "-Xms4G", "-Xmx4G",
+                    "-XX:+UseG1GC",
+                    "-XX:MaxGCPauseMillis=100",
+                    "-XX:+AlwaysPreTouch"
+                )
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,166 @@
+package org.fedorov.uniq.lists.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.fedorov.uniq.lists.IUniqueList;
+import org.fedorov.uniq.lists.impl.AdaptiveUniqueList;
+import org.fedorov.uniq.lists.impl.CopyOnWriteUniqueList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class DeduplicatingProcessorJUnitTest {
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    public static Stream<Arguments> provideProcessors(){
+        return Stream.of(
+            arguments("adaptive", new DeduplicatingProcessor<Integer>(new AdaptiveUniqueList<>(), 4))
+          , arguments("copy-on-write", new DeduplicatingProcessor<Integer>(new CopyOnWriteUniqueList<>(), 4))
+          , arguments("parallel", new ParallelDeduplicatingProcessor<Integer>(AdaptiveUniqueList::new, 4, 4, ForkJoinPool.commonPool()))
+          // Крупный пакет: партиции достаточно велики, чтобы уйти в ForkJoinPool
+          , arguments("parallel-forked", new ParallelDeduplicatingProcessor<Integer>(AdaptiveUniqueList::new, 2, 600, ForkJoinPool.commonPool()))
+        );
+    }
+
+    private static Integer[] input() {
+        Integer[] items = new Integer[1000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = (i * 7) % 100;
+        }
+        return items;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideProcessors")
+    void testEmitsOnlyFirstSeenElementsInOrder(String name, DeduplicatingProcessor<Integer> processor) {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        processor.subscribe(subscriber);
+        new ArrayPublisher<>(input()).subscribe(processor);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        List<Integer> expected = new ArrayList<>();
+        for (Integer item : input()) {
+            if (!expected.contains(item)) {
+                expected.add(item);
+            }
+        }
+        assertEquals(expected, subscriber.items, String.format("Unexpected output for %s", name));
+        assertTrue(subscriber.completed, String.format("Stream is not completed for %s", name));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideProcessors")
+    void testHonoursDownstreamDemand(String name, DeduplicatingProcessor<Integer> processor) {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        processor.subscribe(subscriber);
+        new ArrayPublisher<>(input()).subscribe(processor);
+
+        assertEquals(0, subscriber.items.size(), String.format("Emitted without demand for %s", name));
+        subscriber.subscription.request(3);
+        assertEquals(3, subscriber.items.size(), String.format("Demand is not honoured for %s", name));
+        subscriber.subscription.request(97);
+        assertEquals(100, subscriber.items.size(), String.format("Demand is not honoured for %s", name));
+        assertTrue(!subscriber.completed, String.format("Completed before upstream is drained for %s", name));
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.completed, String.format("Stream is not completed for %s", name));
+    }
+
+    // Список, у которого add()/addAll() падают на заданном элементе
+    // (процессоры добавляют пакетами, а addAll у AdaptiveUniqueList в add() не заходит)
+    private static class FailingUniqueList extends AdaptiveUniqueList<Integer> {
+        static final RuntimeException FAILURE = new IllegalArgumentException("Broken element");
+        static final int BROKEN = 42;
+
+        @Override
+        public boolean add(Integer e) {
+            if (e == BROKEN) {
+                throw FAILURE;
+            }
+            return super.add(e);
+        }
+
+        @Override
+        public int addAll(List<? extends Integer> elements, boolean[] added) {
+            if (elements.contains(BROKEN)) {
+                throw FAILURE;
+            }
+            return super.addAll(elements, added);
+        }
+    }
+
+    public static Stream<Arguments> provideFailingProcessors(){
+        return Stream.of(
+            arguments("sequential", new DeduplicatingProcessor<Integer>(new FailingUniqueList(), 4))
+          , arguments("parallel", new ParallelDeduplicatingProcessor<Integer>(FailingUniqueList::new, 4, 4, ForkJoinPool.commonPool()))
+          , arguments("parallel-forked", new ParallelDeduplicatingProcessor<Integer>(FailingUniqueList::new, 2, 600, ForkJoinPool.commonPool()))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideFailingProcessors")
+    void testListFailureIsSignalledDownstream(String name, DeduplicatingProcessor<Integer> processor) {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        processor.subscribe(subscriber);
+        new ArrayPublisher<>(input()).subscribe(processor);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.error != null, String.format("Failure is not signalled for %s", name));
+        // ForkJoinPool может перебросить копию исключения с оригиналом в причине
+        Throwable cause = subscriber.error;
+        while (cause != FailingUniqueList.FAILURE && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertSame(FailingUniqueList.FAILURE, cause, String.format("Unexpected error for %s", name));
+        assertTrue(!subscriber.completed, String.format("Completed after failure for %s", name));
+        assertTrue(!subscriber.items.contains(FailingUniqueList.BROKEN), String.format("Broken element emitted for %s", name));
+
+        // После отказа оператор не зависает и больше ничего не отдает
+        int emitted = subscriber.items.size();
+        subscriber.subscription.request(1);
+        assertEquals(emitted, subscriber.items.size(), String.format("Emitted after failure for %s", name));
+    }
+
+    @Test
+    void testRejectsSecondSubscriber() {
+        DeduplicatingProcessor<Integer> processor = new DeduplicatingProcessor<>(new AdaptiveUniqueList<>());
+        processor.subscribe(new RecordingSubscriber<>());
+        RecordingSubscriber<Integer> second = new RecordingSubscriber<>();
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+}